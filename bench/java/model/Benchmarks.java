@@ -0,0 +1,27 @@
+package model;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Executa todos os benchmarks do pacote model com o profiler de GC,
+ * que acrescenta a taxa de alocação (gc.alloc.rate.norm, em bytes por operação).
+ *
+ * Uso: java -cp <classes do projeto + bench + JMH> model.Benchmarks [regex]
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        Options opcoes = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "model\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .build();
+        new Runner(opcoes).run();
+    }
+}
@@ -0,0 +1,38 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ida e volta pela façade: selecionaPeca + selecionaCasa.
+ *
+ * · Cada operação joga Cg1-f3, Cg8-f6, Cf3-g1, Cf6-g8, voltando à posição
+ *   inicial (quatro lances completos pela façade).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JogoXadrezBenchmark {
+
+    private JogoXadrez jogo;
+
+    @Setup
+    public void preparar() {
+        jogo = JogoXadrez.getInstancia();
+    }
+
+    @Benchmark
+    public boolean selecionaPecaESelecionaCasa() {
+        boolean ok = jogo.selecionaPeca(7, 6) && jogo.selecionaCasa(5, 5);   // Cg1-f3
+        ok &= jogo.selecionaPeca(0, 6) && jogo.selecionaCasa(2, 5);          // Cg8-f6
+        ok &= jogo.selecionaPeca(5, 5) && jogo.selecionaCasa(7, 6);          // Cf3-g1
+        ok &= jogo.selecionaPeca(2, 5) && jogo.selecionaCasa(0, 6);          // Cf6-g8
+        return ok;
+    }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * podeMoverPara por tipo de peça, em posições de meio-jogo.
+ *
+ * · Cada operação consulta as 64 casas de destino de uma peça do tipo escolhido.
+ * · O índice da peça avança a cada operação, percorrendo todas as peças do tipo
+ *   nas três posições de Posicoes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PecaBenchmark {
+
+    @Param({ "PEAO", "CAVALO", "BISPO", "TORRE", "RAINHA", "REI" })
+    public String tipo;
+
+    private Tabuleiro[] tabuleiros;
+    private Peca[] pecas;
+    private int[] tabuleiroDaPeca;
+    private int proxima;
+
+    @Setup
+    public void preparar() {
+        int t = Arrays.asList("PEAO", "CAVALO", "BISPO", "TORRE", "RAINHA", "REI").indexOf(tipo);
+        tabuleiros = new Tabuleiro[Posicoes.PARTIDAS.length];
+        List<Peca> lista = new ArrayList<>();
+        List<Integer> origem = new ArrayList<>();
+        for (int i = 0; i < tabuleiros.length; i++) {
+            tabuleiros[i] = Posicoes.meioJogo(i);
+            for (int casa = 0; casa < 64; casa++) {
+                Peca p = tabuleiros[i].getPeca(casa);
+                if (p != null && p.getTipo() == t) {
+                    lista.add(p);
+                    origem.add(i);
+                }
+            }
+        }
+        pecas = lista.toArray(new Peca[0]);
+        tabuleiroDaPeca = origem.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public int podeMoverPara_64Casas() {
+        int i = proxima;
+        proxima = (i + 1) % pecas.length;
+        Peca p = pecas[i];
+        Tabuleiro tabuleiro = tabuleiros[tabuleiroDaPeca[i]];
+        int n = 0;
+        for (int l = 0; l < 8; l++)
+            for (int c = 0; c < 8; c++)
+                if (p.podeMoverPara(tabuleiro, l, c)) n++;
+        return n;
+    }
+
+    @Benchmark
+    public long destinos() {
+        int i = proxima;
+        proxima = (i + 1) % pecas.length;
+        return pecas[i].destinos(tabuleiros[tabuleiroDaPeca[i]]);
+    }
+}
@@ -0,0 +1,49 @@
+package model;
+
+/**
+ * Nós até a profundidade com cada poda seletiva ligada e desligada.
+ *
+ * · Conjunto fixo: a posição inicial e as posições de meio-jogo de Posicoes.
+ * · Cada linha busca todas as posições até a mesma profundidade, com uma
+ *   tabela de transposição nova, e soma os nós (o resultado é determinístico).
+ * · Não usa JMH: nós até a profundidade não dependem de aquecimento.
+ *
+ * Uso: java -cp <classes do projeto + bench> model.PodasSeletivas [profundidade]
+ */
+public class PodasSeletivas {
+
+    private static final String[] NOMES = { "lance nulo", "redução tardia", "futilidade" };
+    private static final int[] PODAS = { Busca.LANCE_NULO, Busca.REDUCAO_TARDIA, Busca.FUTILIDADE };
+
+    public static void main(String[] args) {
+        int profundidade = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+
+        long base = medir(0, profundidade, "nenhuma");
+        for (int i = 0; i < PODAS.length; i++)
+            medir(PODAS[i], profundidade, "só " + NOMES[i], base);
+        for (int i = 0; i < PODAS.length; i++)
+            medir(Busca.TODAS_PODAS & ~PODAS[i], profundidade, "todas menos " + NOMES[i], base);
+        medir(Busca.TODAS_PODAS, profundidade, "todas", base);
+    }
+
+    private static long medir(int podas, int profundidade, String nome) {
+        return medir(podas, profundidade, nome, 0);
+    }
+
+    private static long medir(int podas, int profundidade, String nome, long base) {
+        long nos = 0;
+        long inicio = System.nanoTime();
+        StringBuilder lances = new StringBuilder();
+        for (int i = -1; i < Posicoes.PARTIDAS.length; i++) {
+            Busca busca = new Busca(i < 0 ? new Tabuleiro() : Posicoes.meioJogo(i), new TabelaTransposicao(16));
+            busca.setPodas(podas);
+            int lance = busca.melhorLance(Relogio.semLimite(), profundidade);
+            nos += busca.getNos();
+            lances.append(' ').append(Movimento.paraTexto(lance));
+        }
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("%-28s %12d nós %8d ms%s  lances:%s%n", nome, nos, ms,
+                          base > 0 ? String.format(" (%5.1f%%)", 100.0 * nos / base) : "         ", lances);
+        return nos;
+    }
+}
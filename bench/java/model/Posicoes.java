@@ -0,0 +1,33 @@
+package model;
+
+/**
+ * Posições de meio-jogo usadas pelos benchmarks.
+ *
+ * · Cada posição é montada a partir da inicial, aplicando uma partida real
+ *   em notação de coordenadas (ex.: "e2e4").
+ */
+final class Posicoes {
+
+    static final String[] PARTIDAS = {
+        /* Ruy Lopez, variante fechada */
+        "e2e4 e7e5 g1f3 b8c6 f1b5 a7a6 b5a4 g8f6 e1g1 f8e7 f1e1 b7b5 a4b3 d7d6 c2c3 e8g8 h2h3 c6a5 b3c2 c7c5",
+        /* Gambito da Dama recusado */
+        "d2d4 d7d5 c2c4 e7e6 b1c3 g8f6 c1g5 f8e7 e2e3 e8g8 g1f3 b8d7 a1c1 c7c6 f1d3 d5c4 d3c4 f6d5 g5e7 d8e7",
+        /* Siciliana Najdorf */
+        "e2e4 c7c5 g1f3 d7d6 d2d4 c5d4 f3d4 g8f6 b1c3 a7a6 c1e3 e7e5 d4b3 c8e6 f2f3 f8e7 d1d2 e8g8 e1c1 b8d7",
+    };
+
+    private Posicoes() {
+    }
+
+    static Tabuleiro meioJogo(int indice) {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        for (String lance : PARTIDAS[indice].split(" ")) aplicar(tabuleiro, lance);
+        return tabuleiro;
+    }
+
+    /* aplica um lance de coordenadas (roque e en passant ficam com Tabuleiro.jogar) */
+    private static void aplicar(Tabuleiro tabuleiro, String lance) {
+        tabuleiro.jogar(Movimento.deTexto(lance));
+    }
+}
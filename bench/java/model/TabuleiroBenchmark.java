@@ -0,0 +1,83 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Operações do tabuleiro em posições de meio-jogo.
+ *
+ * · moverPeca: leva um cavalo a uma casa e o traz de volta (dois movimentos por operação).
+ * · varreduraCompleta: podeMoverPara de todas as peças do lado a jogar para as 64 casas,
+ *   como faria uma interface que destaca todos os destinos.
+ * · gerarMovimentos e fazer/desfazer: o caminho usado por perft e pela busca.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TabuleiroBenchmark {
+
+    @Param({ "0", "1", "2" })
+    public int posicao;
+
+    private Tabuleiro tabuleiro;
+    private Peca cavalo;
+    private int linhaCavalo, colunaCavalo, linhaAlvo, colunaAlvo;
+    private final int[] lances = new int[Movimento.MAX_LANCES];
+
+    @Setup
+    public void preparar() {
+        tabuleiro = Posicoes.meioJogo(posicao);
+        long cavalos = tabuleiro.getBitboard(Peca.CAVALO, tabuleiro.getVez());
+        int casa = Long.numberOfTrailingZeros(cavalos);
+        cavalo = tabuleiro.getPeca(casa);
+        linhaCavalo = Bitboard.linha(casa);
+        colunaCavalo = Bitboard.coluna(casa);
+        int alvo = Long.numberOfTrailingZeros(cavalo.destinos(tabuleiro) & ~tabuleiro.getTodas());
+        linhaAlvo = Bitboard.linha(alvo);
+        colunaAlvo = Bitboard.coluna(alvo);
+    }
+
+    @Benchmark
+    public Peca moverPeca_idaEVolta() {
+        Peca ida = tabuleiro.moverPeca(cavalo, linhaAlvo, colunaAlvo);
+        tabuleiro.moverPeca(ida, linhaCavalo, colunaCavalo);
+        return tabuleiro.getPeca(linhaCavalo, colunaCavalo);
+    }
+
+    @Benchmark
+    public int varreduraCompleta() {
+        Cor vez = tabuleiro.getVez();
+        int n = 0;
+        for (long b = tabuleiro.getOcupacao(vez); b != 0; b &= b - 1) {
+            Peca p = tabuleiro.getPeca(Long.numberOfTrailingZeros(b));
+            for (int l = 0; l < 8; l++)
+                for (int c = 0; c < 8; c++)
+                    if (p.podeMoverPara(tabuleiro, l, c)) n++;
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int gerarMovimentos() {
+        return tabuleiro.gerarMovimentos(tabuleiro.getVez(), lances);
+    }
+
+    @Benchmark
+    public long fazerDesfazer_todosOsLances() {
+        int n = tabuleiro.gerarMovimentos(tabuleiro.getVez(), lances);
+        long soma = 0;
+        for (int i = 0; i < n; i++) {
+            tabuleiro.fazerLance(lances[i]);
+            soma += tabuleiro.getChave();
+            tabuleiro.desfazerLance();
+        }
+        return soma;
+    }
+}
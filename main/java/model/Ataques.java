@@ -0,0 +1,244 @@
+package model;
+
+/**
+ * Tabelas de ataque pré-calculadas, partilhadas (somente leitura) por todos os jogos.
+ *
+ * · Cavalo, rei e peão (ataque e avanço simples, por cor) têm uma máscara
+ *   de 64 entradas: a consulta é uma leitura de vetor.
+ * · Torre e bispo usam bitboards mágicos: a ocupação relevante da casa é
+ *   multiplicada pelo número mágico e o resultado indexa a tabela de ataques,
+ *   sem percorrer o raio.
+ * · Os números mágicos são constantes (achados uma vez por tentativa e erro com
+ *   um xorshift de semente fixa); na carga da classe só as tabelas são
+ *   preenchidas, e cada mágica é conferida contra os ataques por raio.
+ * · Para cada par de casas alinhadas (reta ou diagonal) há a máscara das casas
+ *   entre elas e a da linha inteira que passa pelas duas (cravadas e xeques).
+ */
+final class Ataques {
+
+    private static final int[][] SALTOS_CAVALO = { { 2, 1 }, { 2, -1 }, { -2, 1 }, { -2, -1 },
+                                                   { 1, 2 }, { 1, -2 }, { -1, 2 }, { -1, -2 } };
+    private static final int[][] PASSOS_REI = { { 1, 1 }, { 1, 0 }, { 1, -1 }, { 0, 1 },
+                                                { 0, -1 }, { -1, 1 }, { -1, 0 }, { -1, -1 } };
+
+    private static final long[] CAVALO = new long[64];
+    private static final long[] REI = new long[64];
+    private static final long[][] PEAO = new long[2][64];          // capturas, por cor
+    private static final long[][] PEAO_AVANCO = new long[2][64];   // avanço de uma casa, por cor
+
+    private static final int[][] DIRECOES_TORRE = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+    private static final int[][] DIRECOES_BISPO = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+
+    private static final long[] MASCARA_TORRE = new long[64];
+    private static final long[] MAGICA_TORRE = {
+        0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+        0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+        0x0400800040008021L, 0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+        0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+        0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+        0x0001818014000800L, 0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+        0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+        0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+        0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+        0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L, 0x1240800040800100L,
+        0x0880042000524004L, 0x02C080410206002CL, 0x0801200241050010L, 0x8400080010008080L,
+        0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+        0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+        0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+        0x8044110480002441L, 0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+        0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+    private static final int[] DESLOCAMENTO_TORRE = new int[64];
+    private static final int[] INICIO_TORRE = new int[64];
+    private static final long[] TABELA_TORRE;
+
+    private static final long[] MASCARA_BISPO = new long[64];
+    private static final long[] MAGICA_BISPO = {
+        0x0045010808008680L, 0x2002080204004898L, 0x0210009A10400006L, 0x0824050200810200L,
+        0x0006061105004090L, 0x00010108C0000000L, 0x0814040282104004L, 0x0012012201106800L,
+        0x10823014100C1040L, 0x0080C2088802808CL, 0x0281108410404000L, 0x0101212041826200L,
+        0x0020141028221058L, 0x2201020202200202L, 0x000082A801482000L, 0x0000008401411044L,
+        0x0007103014300404L, 0x0002091110010100L, 0x42140012040C0808L, 0x0800808802004020L,
+        0x90C4004210140000L, 0x0800200900A01000L, 0x00D0400201108810L, 0x80820183814412A0L,
+        0x00A01008202202B4L, 0x01C2021A09500402L, 0x0084440208042400L, 0x800400400C090100L,
+        0xBA10040010802100L, 0xD182009006005000L, 0x5011021001009004L, 0x0020420200510400L,
+        0x0292104000468800L, 0x00043009091C0500L, 0x0280441000020025L, 0x0042820080080080L,
+        0x0440101010010040L, 0x1000900100808080L, 0x0108108120089800L, 0x0044010200012682L,
+        0xC002500420900400L, 0x0040482210710800L, 0x0002060024000200L, 0x0281020A44000800L,
+        0xA0021200A4000200L, 0x0001301000840840L, 0x2868500108444220L, 0x0004111041000200L,
+        0x8044020842080200L, 0x0000220104210200L, 0x0000021201044000L, 0x0000280884040028L,
+        0x4012114010858003L, 0x0000081004082B88L, 0x3892700508208002L, 0x00220A041B060400L,
+        0x0812020284014881L, 0x010434A282103100L, 0x0490400824020800L, 0x4A20002C00208800L,
+        0x000000A011020200L, 0x4002940A02482202L, 0x5100100202140406L, 0x02102000840540C1L
+    };
+    private static final int[] DESLOCAMENTO_BISPO = new int[64];
+    private static final int[] INICIO_BISPO = new int[64];
+    private static final long[] TABELA_BISPO;
+
+    private static final long[] ENTRE = new long[64 * 64];
+    private static final long[] LINHA = new long[64 * 64];
+
+    static {
+        for (int casa = 0; casa < 64; casa++) {
+            CAVALO[casa] = saltos(casa, SALTOS_CAVALO);
+            REI[casa] = saltos(casa, PASSOS_REI);
+            PEAO[Cor.BRANCO.ordinal()][casa] = saltos(casa, new int[][] { { -1, -1 }, { -1, 1 } });
+            PEAO[Cor.PRETO.ordinal()][casa] = saltos(casa, new int[][] { { 1, -1 }, { 1, 1 } });
+            PEAO_AVANCO[Cor.BRANCO.ordinal()][casa] = saltos(casa, new int[][] { { -1, 0 } });
+            PEAO_AVANCO[Cor.PRETO.ordinal()][casa] = saltos(casa, new int[][] { { 1, 0 } });
+        }
+        TABELA_TORRE = construir(DIRECOES_TORRE, MASCARA_TORRE, MAGICA_TORRE, DESLOCAMENTO_TORRE, INICIO_TORRE);
+        TABELA_BISPO = construir(DIRECOES_BISPO, MASCARA_BISPO, MAGICA_BISPO, DESLOCAMENTO_BISPO, INICIO_BISPO);
+        for (int casa = 0; casa < 64; casa++) {
+            alinhar(casa, DIRECOES_TORRE);
+            alinhar(casa, DIRECOES_BISPO);
+        }
+    }
+
+    private Ataques() {
+    }
+
+    static long cavalo(int casa) {
+        return CAVALO[casa];
+    }
+
+    static long rei(int casa) {
+        return REI[casa];
+    }
+
+    static long peao(Cor cor, int casa) {
+        return PEAO[cor.ordinal()][casa];
+    }
+
+    static long peaoAvanco(Cor cor, int casa) {
+        return PEAO_AVANCO[cor.ordinal()][casa];
+    }
+
+    static long torre(int casa, long ocupacao) {
+        int indice = (int) (((ocupacao & MASCARA_TORRE[casa]) * MAGICA_TORRE[casa]) >>> DESLOCAMENTO_TORRE[casa]);
+        return TABELA_TORRE[INICIO_TORRE[casa] + indice];
+    }
+
+    static long bispo(int casa, long ocupacao) {
+        int indice = (int) (((ocupacao & MASCARA_BISPO[casa]) * MAGICA_BISPO[casa]) >>> DESLOCAMENTO_BISPO[casa]);
+        return TABELA_BISPO[INICIO_BISPO[casa] + indice];
+    }
+
+    static long rainha(int casa, long ocupacao) {
+        return torre(casa, ocupacao) | bispo(casa, ocupacao);
+    }
+
+    /* casas estritamente entre a e b (0 se não estão alinhadas) */
+    static long entre(int a, int b) {
+        return ENTRE[(a << 6) | b];
+    }
+
+    /* linha, coluna ou diagonal inteira que passa por a e b (0 se não estão alinhadas) */
+    static long linha(int a, int b) {
+        return LINHA[(a << 6) | b];
+    }
+
+    /*------------------------------------------------------------
+     * CONSTRUÇÃO DAS TABELAS
+     *----------------------------------------------------------*/
+
+    private static long[] construir(int[][] direcoes, long[] mascaras, long[] magicas,
+                                    int[] deslocamentos, int[] inicios) {
+        int total = 0;
+        for (int casa = 0; casa < 64; casa++) {
+            mascaras[casa] = mascaraRelevante(casa, direcoes);
+            deslocamentos[casa] = 64 - Long.bitCount(mascaras[casa]);
+            inicios[casa] = total;
+            total += 1 << Long.bitCount(mascaras[casa]);
+        }
+
+        long[] tabela = new long[total];
+        for (int casa = 0; casa < 64; casa++) {
+            long mascara = mascaras[casa];
+            int n = 1 << Long.bitCount(mascara);
+            long[] ocupacoes = new long[n];
+            long[] ataques = new long[n];
+
+            /* enumera todos os subconjuntos da máscara (carry-rippler) */
+            long sub = 0L;
+            for (int i = 0; i < n; i++) {
+                ocupacoes[i] = sub;
+                ataques[i] = ataquesPorRaio(casa, sub, direcoes);
+                sub = (sub - mascara) & mascara;
+            }
+
+            preencher(magicas[casa], deslocamentos[casa], ocupacoes, ataques, tabela, inicios[casa]);
+        }
+        return tabela;
+    }
+
+    /* põe os ataques de cada ocupação no índice dado pela mágica; colisão com ataques diferentes = mágica errada */
+    private static void preencher(long magica, int deslocamento, long[] ocupacoes, long[] ataques,
+                                  long[] tabela, int inicio) {
+        boolean[] usado = new boolean[ocupacoes.length];
+        for (int i = 0; i < ocupacoes.length; i++) {
+            int indice = (int) ((ocupacoes[i] * magica) >>> deslocamento);
+            if (usado[indice] && tabela[inicio + indice] != ataques[i])
+                throw new IllegalStateException("número mágico inválido: " + Long.toHexString(magica));
+            usado[indice] = true;
+            tabela[inicio + indice] = ataques[i];
+        }
+    }
+
+    /* preenche ENTRE e LINHA da casa com cada casa alinhada a ela */
+    private static void alinhar(int casa, int[][] direcoes) {
+        for (int[] d : direcoes) {
+            long linhaInteira = Bitboard.bit(casa) | ataquesPorRaio(casa, 0L, new int[][] { d })
+                              | ataquesPorRaio(casa, 0L, new int[][] { { -d[0], -d[1] } });
+            long caminho = 0L;
+            int l = Bitboard.linha(casa) + d[0], c = Bitboard.coluna(casa) + d[1];
+            while (Bitboard.dentro(l, c)) {
+                int outra = Bitboard.casa(l, c);
+                ENTRE[(casa << 6) | outra] = caminho;
+                LINHA[(casa << 6) | outra] = linhaInteira;
+                caminho |= Bitboard.bit(outra);
+                l += d[0];
+                c += d[1];
+            }
+        }
+    }
+
+    private static long saltos(int casa, int[][] deltas) {
+        long alvos = 0L;
+        for (int[] d : deltas) {
+            int l = Bitboard.linha(casa) + d[0], c = Bitboard.coluna(casa) + d[1];
+            if (Bitboard.dentro(l, c)) alvos |= Bitboard.bit(Bitboard.casa(l, c));
+        }
+        return alvos;
+    }
+
+    /* casas que podem bloquear o raio, sem a última casa de cada direção */
+    private static long mascaraRelevante(int casa, int[][] direcoes) {
+        long mascara = 0L;
+        for (int[] d : direcoes) {
+            int l = Bitboard.linha(casa) + d[0], c = Bitboard.coluna(casa) + d[1];
+            while (Bitboard.dentro(l + d[0], c + d[1])) {
+                mascara |= Bitboard.bit(Bitboard.casa(l, c));
+                l += d[0];
+                c += d[1];
+            }
+        }
+        return mascara;
+    }
+
+    /* ataques percorrendo o raio casa a casa, até a primeira peça (inclusive) */
+    private static long ataquesPorRaio(int casa, long ocupacao, int[][] direcoes) {
+        long ataques = 0L;
+        for (int[] d : direcoes) {
+            int l = Bitboard.linha(casa) + d[0], c = Bitboard.coluna(casa) + d[1];
+            while (Bitboard.dentro(l, c)) {
+                long b = Bitboard.bit(Bitboard.casa(l, c));
+                ataques |= b;
+                if ((ocupacao & b) != 0) break;
+                l += d[0];
+                c += d[1];
+            }
+        }
+        return ataques;
+    }
+}
@@ -0,0 +1,139 @@
+package model;
+
+/**
+ * Avaliação estática: material + tabelas de posição (peça × casa), com
+ * pesos de meio-jogo e de final interpolados pela fase da partida.
+ *
+ * · As somas de meio-jogo, de final e a fase são mantidas pelo Tabuleiro
+ *   a cada peça colocada ou retirada; avaliar() só faz a interpolação (O(1)).
+ * · As tabelas estão escritas do ponto de vista das brancas, linha 0 (oitava
+ *   fileira) primeiro; para as pretas a casa é espelhada (casa ^ 56).
+ * · Fase: cavalo e bispo 1, torre 2, rainha 4; 24 = todas as peças em jogo.
+ */
+final class Avaliacao {
+
+    static final int FASE_TOTAL = 24;
+
+    /* material por tipo (PEAO .. REI) */
+    static final int[] VALOR_MEIO = { 82, 337, 365, 477, 1025, 0 };
+    static final int[] VALOR_FINAL = { 94, 281, 297, 512, 936, 0 };
+    private static final int[] FASE = { 0, 1, 1, 2, 4, 0 };
+
+    private static final int[] PEAO_MEIO = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         10,  10,  20,  30,  30,  20,  10,  10,
+          5,   5,  10,  25,  25,  10,   5,   5,
+          0,   0,   0,  20,  20,   0,   0,   0,
+          5,  -5, -10,   0,   0, -10,  -5,   5,
+          5,  10,  10, -20, -20,  10,  10,   5,
+          0,   0,   0,   0,   0,   0,   0,   0 };
+
+    private static final int[] PEAO_FINAL = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+         80,  80,  80,  80,  80,  80,  80,  80,
+         50,  50,  50,  50,  50,  50,  50,  50,
+         30,  30,  30,  30,  30,  30,  30,  30,
+         20,  20,  20,  20,  20,  20,  20,  20,
+         10,  10,  10,  10,  10,  10,  10,  10,
+         10,  10,  10,  10,  10,  10,  10,  10,
+          0,   0,   0,   0,   0,   0,   0,   0 };
+
+    private static final int[] CAVALO = {
+        -50, -40, -30, -30, -30, -30, -40, -50,
+        -40, -20,   0,   0,   0,   0, -20, -40,
+        -30,   0,  10,  15,  15,  10,   0, -30,
+        -30,   5,  15,  20,  20,  15,   5, -30,
+        -30,   0,  15,  20,  20,  15,   0, -30,
+        -30,   5,  10,  15,  15,  10,   5, -30,
+        -40, -20,   0,   5,   5,   0, -20, -40,
+        -50, -40, -30, -30, -30, -30, -40, -50 };
+
+    private static final int[] BISPO = {
+        -20, -10, -10, -10, -10, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,  10,  10,   5,   0, -10,
+        -10,   5,   5,  10,  10,   5,   5, -10,
+        -10,   0,  10,  10,  10,  10,   0, -10,
+        -10,  10,  10,  10,  10,  10,  10, -10,
+        -10,   5,   0,   0,   0,   0,   5, -10,
+        -20, -10, -10, -10, -10, -10, -10, -20 };
+
+    private static final int[] TORRE = {
+          0,   0,   0,   0,   0,   0,   0,   0,
+          5,  10,  10,  10,  10,  10,  10,   5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+         -5,   0,   0,   0,   0,   0,   0,  -5,
+          0,   0,   0,   5,   5,   0,   0,   0 };
+
+    private static final int[] RAINHA = {
+        -20, -10, -10,  -5,  -5, -10, -10, -20,
+        -10,   0,   0,   0,   0,   0,   0, -10,
+        -10,   0,   5,   5,   5,   5,   0, -10,
+         -5,   0,   5,   5,   5,   5,   0,  -5,
+          0,   0,   5,   5,   5,   5,   0,  -5,
+        -10,   5,   5,   5,   5,   5,   0, -10,
+        -10,   0,   5,   0,   0,   0,   0, -10,
+        -20, -10, -10,  -5,  -5, -10, -10, -20 };
+
+    private static final int[] REI_MEIO = {
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -20, -30, -30, -40, -40, -30, -30, -20,
+        -10, -20, -20, -20, -20, -20, -20, -10,
+         20,  20,   0,   0,   0,   0,  20,  20,
+         20,  30,  10,   0,   0,  10,  30,  20 };
+
+    private static final int[] REI_FINAL = {
+        -50, -40, -30, -20, -20, -30, -40, -50,
+        -30, -20, -10,   0,   0, -10, -20, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  30,  40,  40,  30, -10, -30,
+        -30, -10,  20,  30,  30,  20, -10, -30,
+        -30, -30,   0,   0,   0,   0, -30, -30,
+        -50, -30, -30, -30, -30, -30, -30, -50 };
+
+    /* material + posição, com sinal (brancas +, pretas -), por índice de peça e casa */
+    private static final int[] MEIO = new int[12 * 64];
+    private static final int[] FINAL = new int[12 * 64];
+
+    static {
+        int[][] meio = { PEAO_MEIO, CAVALO, BISPO, TORRE, RAINHA, REI_MEIO };
+        int[][] fim = { PEAO_FINAL, CAVALO, BISPO, TORRE, RAINHA, REI_FINAL };
+        for (int tipo = 0; tipo < 6; tipo++)
+            for (int casa = 0; casa < 64; casa++) {
+                MEIO[(tipo << 6) | casa] = VALOR_MEIO[tipo] + meio[tipo][casa];
+                FINAL[(tipo << 6) | casa] = VALOR_FINAL[tipo] + fim[tipo][casa];
+                MEIO[((tipo + 6) << 6) | casa] = -(VALOR_MEIO[tipo] + meio[tipo][casa ^ 56]);
+                FINAL[((tipo + 6) << 6) | casa] = -(VALOR_FINAL[tipo] + fim[tipo][casa ^ 56]);
+            }
+    }
+
+    private Avaliacao() {
+    }
+
+    static int meioJogo(int indice, int casa) {
+        return MEIO[(indice << 6) | casa];
+    }
+
+    static int finalJogo(int indice, int casa) {
+        return FINAL[(indice << 6) | casa];
+    }
+
+    static int fase(int tipo) {
+        return FASE[tipo];
+    }
+
+    /* pontuação do ponto de vista do lado a jogar */
+    static int avaliar(Tabuleiro tabuleiro) {
+        int fase = Math.min(tabuleiro.getFase(), FASE_TOTAL);
+        int valor = (tabuleiro.getMeioJogo() * fase + tabuleiro.getFinalJogo() * (FASE_TOTAL - fase)) / FASE_TOTAL;
+        return tabuleiro.getVez() == Cor.BRANCO ? valor : -valor;
+    }
+}
@@ -7,22 +7,19 @@ class Bispo extends Peca {
     }
 
     @Override
-    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
-    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; //verificacao limites tabuleiro
-
-        if (Math.abs(l - linha) != Math.abs(c - coluna)) return false;
-
-        int deltaL = Integer.compare(l, linha);
-        int deltaC = Integer.compare(c, coluna);
-        int i = linha + deltaL, j = coluna + deltaC;
+    int getTipo() {
+        return BISPO;
+    }
 
-        while (i != l || j != c) {
-            if (tabuleiro.getPeca(i, j) != null) return false;
-            i += deltaL;
-            j += deltaC;
-        }
+    @Override
+    long destinos(Tabuleiro tabuleiro) {
+        return Ataques.bispo(Bitboard.casa(linha, coluna), tabuleiro.getTodas())
+             & ~tabuleiro.getOcupacao(cor);
+    }
 
-        Peca destino = tabuleiro.getPeca(l, c);
-        return destino == null || destino.getCor() != cor;
+    @Override
+    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
+    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; //verificacao limites tabuleiro
+        return (destinos(tabuleiro) & Bitboard.bit(Bitboard.casa(l, c))) != 0;
     }
 }
@@ -0,0 +1,34 @@
+package model;
+
+/**
+ * Utilitários para o tabuleiro em bitboards.
+ *
+ * · Cada casa é um índice 0..63 = linha * 8 + coluna
+ *   (casa 0 = linha 0 / coluna 0, casa 63 = linha 7 / coluna 7).
+ * · Um bitboard é um long em que o bit n está ligado se a casa n está marcada.
+ */
+final class Bitboard {
+
+    private Bitboard() {
+    }
+
+    static int casa(int linha, int coluna) {
+        return (linha << 3) | coluna;
+    }
+
+    static int linha(int casa) {
+        return casa >>> 3;
+    }
+
+    static int coluna(int casa) {
+        return casa & 7;
+    }
+
+    static long bit(int casa) {
+        return 1L << casa;
+    }
+
+    static boolean dentro(int linha, int coluna) {
+        return (linha | coluna) >= 0 && linha < 8 && coluna < 8;
+    }
+}
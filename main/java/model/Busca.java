@@ -0,0 +1,397 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Busca do computador: negamax com poda alfa-beta e aprofundamento iterativo.
+ *
+ * · Trabalha sobre uma cópia do tabuleiro, com fazerLance/desfazerLance.
+ * · Os lances da raiz são filtrados por Peca.podeMoverPara e Tabuleiro.lanceLegal,
+ *   a mesma regra usada por JogoXadrez.selecionaCasa: o lance devolvido é sempre
+ *   aceito pela façade.
+ * · Cada iteração completa guarda a variação principal; se o tempo acabar no meio
+ *   de uma iteração, vale o resultado da última iteração completa. O tempo é
+ *   controlado por um Relogio: entre iterações, pelo prazo suave; dentro delas,
+ *   pelo duro.
+ * · Após a busca ficam disponíveis nós visitados, profundidade alcançada e nós por segundo.
+ * · Os lances de cada nó são ordenados por OrdenacaoLances (tabela, MVV-LVA,
+ *   matadores, histórico); a taxa de cortes no primeiro lance mede essa ordenação.
+ * · Usa uma TabelaTransposicao, que pode ser compartilhada com outras buscas
+ *   (ver BuscaParalela); parar() interrompe a busca a partir de outra thread.
+ * · Nas folhas, uma busca de quiescência segue só capturas e promoções até a
+ *   posição ficar calma; capturas que perdem material pela troca estática
+ *   (TrocaEstatica) são descartadas.
+ * · Podas seletivas, cada uma ligada ou desligada por setPodas: lance nulo (fora
+ *   de xeque e só com peças além de peões e rei, contra zugzwang), redução de
+ *   lances tardios conforme a posição do lance na ordenação, e futilidade /
+ *   futilidade reversa nos nós perto das folhas. A busca é de variação principal
+ *   (PVS): só o primeiro lance de cada nó tem janela aberta, e nós de janela
+ *   aberta não são podados.
+ */
+final class Busca {
+
+    static final int MAX_PLY = 64;
+    static final int MATE = 100_000;
+
+    /* podas seletivas (combináveis com |) */
+    static final int LANCE_NULO = 1, REDUCAO_TARDIA = 2, FUTILIDADE = 4;
+    static final int TODAS_PODAS = LANCE_NULO | REDUCAO_TARDIA | FUTILIDADE;
+    private static final int INFINITO = 1_000_000;
+
+    /* intervalo de nós (potência de dois) entre consultas à parada e ao relógio: bem menos de 1 ms */
+    private static final int INTERVALO_PARADA = 128;
+
+    /* tamanho da tabela própria, quando nenhuma é fornecida */
+    static final int MEGABYTES_PADRAO = 1;
+
+    /* margem por nível de profundidade da futilidade (reversa até PROF_FUTILIDADE, direta no nível 1) */
+    private static final int MARGEM_FUTILIDADE = 150;
+    private static final int PROF_FUTILIDADE = 3;
+
+    /* lances tentados sem redução em cada nó; a partir de LANCES_REDUCAO_DUPLA reduz dois níveis */
+    private static final int LANCES_SEM_REDUCAO = 3;
+    private static final int LANCES_REDUCAO_DUPLA = 8;
+
+    private final Tabuleiro tabuleiro;
+    private final TabelaTransposicao tabela;
+    private final OrdenacaoLances ordenacao = new OrdenacaoLances();
+    private final TrocaEstatica troca = new TrocaEstatica();
+    private final int[][] lances = new int[MAX_PLY][Movimento.MAX_LANCES];
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvTamanho = new int[MAX_PLY + 1];
+
+    private Relogio relogio = Relogio.semLimite();
+    private boolean abortada;
+    private volatile boolean parada;
+    private int profundidadeInicial = 1;
+    private int podas = TODAS_PODAS;
+    private long nos;
+    private int profundidadeAlcancada;
+    private int pontuacao;
+    private long tempoMs;
+    private int[] variacaoPrincipal = new int[0];
+
+    Busca(Tabuleiro tabuleiro) {
+        this(tabuleiro, new TabelaTransposicao(MEGABYTES_PADRAO));
+    }
+
+    Busca(Tabuleiro tabuleiro, TabelaTransposicao tabela) {
+        this.tabuleiro = new Tabuleiro(tabuleiro);
+        this.tabela = tabela;
+    }
+
+    /* pedido de parada vindo de outra thread; atendido em até INTERVALO_PARADA nós */
+    void parar() {
+        parada = true;
+    }
+
+    /* profundidade da primeira iteração (as threads auxiliares começam em profundidades diferentes) */
+    void setProfundidadeInicial(int profundidadeInicial) {
+        this.profundidadeInicial = profundidadeInicial;
+    }
+
+    /* podas seletivas ativas: combinação de LANCE_NULO, REDUCAO_TARDIA e FUTILIDADE (0 = nenhuma) */
+    void setPodas(int podas) {
+        this.podas = podas;
+    }
+
+    int getPodas() {
+        return podas;
+    }
+
+    /**
+     * Procura o melhor lance do lado a jogar dentro de orcamentoMs milissegundos
+     * (a profundidade 1 é sempre concluída).
+     *
+     * @return o lance (ver Movimento), ou Movimento.NENHUM se não há lance legal
+     */
+    int melhorLance(long orcamentoMs) {
+        return melhorLance(orcamentoMs, MAX_PLY - 1);
+    }
+
+    int melhorLance(long orcamentoMs, int profundidadeMaxima) {
+        return melhorLance(Relogio.fixo(orcamentoMs), profundidadeMaxima);
+    }
+
+    /* busca controlada por um relógio de partida (prazos suave e duro, ver Relogio) */
+    int melhorLance(Relogio relogio, int profundidadeMaxima) {
+        long inicio = System.nanoTime();
+        this.relogio = relogio;
+        relogio.iniciar();
+        ordenacao.novaBusca();
+        nos = 0;
+        profundidadeAlcancada = 0;
+        pontuacao = 0;
+        variacaoPrincipal = new int[0];
+        int melhor = Movimento.NENHUM;
+
+        int[] raiz = new int[Movimento.MAX_LANCES];
+        int nRaiz = lancesDaRaiz(raiz);
+        if (nRaiz > 0) melhor = raiz[0];
+
+        for (int p = profundidadeInicial; p <= profundidadeMaxima && nRaiz > 0; p++) {
+            abortada = false;
+            int valor = raiz(raiz, nRaiz, p);
+            if (abortada && (profundidadeAlcancada > 0 || parada)) break;
+
+            melhor = pv[0][0];
+            pontuacao = valor;
+            profundidadeAlcancada = p;
+            variacaoPrincipal = Arrays.copyOf(pv[0], pvTamanho[0]);
+            if (Math.abs(valor) >= MATE - MAX_PLY) break;      // mate encontrado
+            if (!relogio.continuar(melhor, valor)) break;
+        }
+        relogio.encerrar();
+        tempoMs = (System.nanoTime() - inicio) / 1_000_000;
+        parada = false;
+        return melhor;
+    }
+
+    long getNos() {
+        return nos;
+    }
+
+    int getProfundidadeAlcancada() {
+        return profundidadeAlcancada;
+    }
+
+    int getPontuacao() {
+        return pontuacao;
+    }
+
+    long getTempoMs() {
+        return tempoMs;
+    }
+
+    long getNosPorSegundo() {
+        return nos * 1000 / Math.max(1, tempoMs);
+    }
+
+    double getTaxaCortePrimeiroLance() {
+        return ordenacao.getTaxaCortePrimeiroLance();
+    }
+
+    int[] getVariacaoPrincipal() {
+        return variacaoPrincipal.clone();
+    }
+
+    /* lances legais da raiz que a façade aceitaria (a mesma regra de JogoXadrez.selecionaCasa) */
+    private int lancesDaRaiz(int[] raiz) {
+        Cor cor = tabuleiro.getVez();
+        long xequeadores = tabuleiro.xequeadores(cor), cravadas = tabuleiro.cravadas(cor);
+        int n = tabuleiro.gerarMovimentos(cor, raiz);
+        int legais = 0;
+        for (int i = 0; i < n; i++) {
+            int destino = Movimento.destino(raiz[i]);
+            Peca p = tabuleiro.getPeca(Movimento.origem(raiz[i]));
+            if (p.podeMoverPara(tabuleiro, Bitboard.linha(destino), Bitboard.coluna(destino))
+                    && tabuleiro.lanceLegal(raiz[i], xequeadores, cravadas))
+                raiz[legais++] = raiz[i];
+        }
+        return legais;
+    }
+
+    private int raiz(int[] raiz, int n, int profundidade) {
+        /* o melhor lance da iteração anterior é tentado primeiro */
+        for (int i = 1; i < n; i++)
+            if (raiz[i] == pv[0][0]) {
+                raiz[i] = raiz[0];
+                raiz[0] = pv[0][0];
+                break;
+            }
+
+        int alfa = -INFINITO;
+        pvTamanho[0] = 0;
+        for (int i = 0; i < n; i++) {
+            tabuleiro.fazerLance(raiz[i]);
+            int valor = i == 0 ? -INFINITO : -negamax(profundidade - 1, 1, -alfa - 1, -alfa, true);
+            if (i == 0 || valor > alfa && !abortada)
+                valor = -negamax(profundidade - 1, 1, -INFINITO, -alfa, true);
+            tabuleiro.desfazerLance();
+            if (abortada) return alfa;
+            if (valor > alfa) {
+                alfa = valor;
+                atualizarPv(0, raiz[i]);
+            }
+        }
+        return alfa;
+    }
+
+    private int negamax(int profundidade, int ply, int alfa, int beta, boolean nuloPermitido) {
+        pvTamanho[ply] = 0;
+        if ((++nos & (INTERVALO_PARADA - 1)) == 0
+                && (parada || profundidadeAlcancada > 0 && relogio.esgotado()))
+            abortada = true;
+        if (abortada) return 0;
+        /* empate: uma repetição já basta dentro da busca, e regra dos 50 lances */
+        if (tabuleiro.getMeioLances() >= 100 || tabuleiro.repeticoes() > 0) return 0;
+        if (profundidade == 0 || ply >= MAX_PLY - 1) return quiescencia(ply, alfa, beta);
+
+        long chave = tabuleiro.getChave();
+        long dado = tabela.sondar(chave);
+        int lanceTabela = Movimento.NENHUM;
+        if (dado != 0) {
+            lanceTabela = TabelaTransposicao.lance(dado);
+            if (TabelaTransposicao.profundidade(dado) >= profundidade) {
+                int valor = valorDaTabela(TabelaTransposicao.valor(dado), ply);
+                int limite = TabelaTransposicao.limite(dado);
+                if (limite == TabelaTransposicao.EXATO
+                        || limite == TabelaTransposicao.INFERIOR && valor >= beta
+                        || limite == TabelaTransposicao.SUPERIOR && valor <= alfa)
+                    return valor;
+            }
+        }
+
+        Cor cor = tabuleiro.getVez();
+        boolean xeque = tabuleiro.emXeque(cor);
+        boolean podavel = beta - alfa == 1 && !xeque && Math.abs(beta) < MATE - MAX_PLY;
+        int estatica = podavel ? Avaliacao.avaliar(tabuleiro) : 0;
+
+        /* futilidade reversa: tão acima de beta que nenhuma resposta deve recuperar */
+        if (podavel && (podas & FUTILIDADE) != 0 && profundidade <= PROF_FUTILIDADE
+                && estatica - MARGEM_FUTILIDADE * profundidade >= beta)
+            return estatica - MARGEM_FUTILIDADE * profundidade;
+
+        /* lance nulo: se passar a vez já basta para beta, lance nenhum vai ficar abaixo dele */
+        if (podavel && (podas & LANCE_NULO) != 0 && nuloPermitido && profundidade >= 3
+                && estatica >= beta && temPecas(cor)) {
+            int r = profundidade >= 6 ? 3 : 2;
+            tabuleiro.fazerLanceNulo();
+            int valor = -negamax(Math.max(0, profundidade - 1 - r), ply + 1, -beta, -beta + 1, false);
+            tabuleiro.desfazerLanceNulo();
+            if (abortada) return 0;
+            if (valor >= beta) return valor >= MATE - MAX_PLY ? beta : valor;
+        }
+
+        /* futilidade: no último nível, lances quietos não alcançam alfa */
+        boolean futil = podavel && (podas & FUTILIDADE) != 0 && profundidade == 1
+                        && estatica + MARGEM_FUTILIDADE <= alfa;
+
+        int[] buffer = lances[ply];
+        int n = tabuleiro.gerarMovimentos(cor, buffer);
+        ordenacao.pontuar(tabuleiro, buffer, n, ply, lanceTabela);
+
+        int alfaOriginal = alfa;
+        int melhorLance = Movimento.NENHUM;
+        int legais = 0;
+        for (int i = 0; i < n; i++) {
+            int lance = ordenacao.proximo(buffer, n, i, ply);
+            boolean quieto = !tabuleiro.ocupada(Movimento.destino(lance)) && Movimento.promocao(lance) == 0
+                             && !tabuleiro.capturaEnPassant(lance);
+            tabuleiro.fazerLance(lance);
+            if (tabuleiro.emXeque(cor)) {
+                tabuleiro.desfazerLance();
+                continue;
+            }
+            legais++;
+            boolean tranquilo = quieto && !xeque && !tabuleiro.emXeque(cor.oposta());
+            if (futil && tranquilo && legais > 1) {
+                tabuleiro.desfazerLance();
+                continue;
+            }
+
+            /* variação principal: só o primeiro lance usa a janela inteira; os demais tentam
+               provar com janela nula (e, se tardios, reduzidos) que não passam de alfa */
+            int valor;
+            if (legais == 1) {
+                valor = -negamax(profundidade - 1, ply + 1, -beta, -alfa, true);
+            } else {
+                int r = (podas & REDUCAO_TARDIA) != 0 && tranquilo && profundidade >= 3 ? reducao(legais) : 0;
+                valor = -negamax(profundidade - 1 - r, ply + 1, -alfa - 1, -alfa, true);
+                if (valor > alfa && r > 0 && !abortada)
+                    valor = -negamax(profundidade - 1, ply + 1, -alfa - 1, -alfa, true);
+                if (valor > alfa && valor < beta && !abortada)
+                    valor = -negamax(profundidade - 1, ply + 1, -beta, -alfa, true);
+            }
+            tabuleiro.desfazerLance();
+            if (abortada) return 0;
+
+            if (valor > alfa) {
+                alfa = valor;
+                melhorLance = lance;
+                atualizarPv(ply, lance);
+                if (alfa >= beta) {
+                    ordenacao.registrarCorte(tabuleiro, lance, legais - 1, ply, profundidade);
+                    tabela.guardar(chave, profundidade, TabelaTransposicao.INFERIOR,
+                                   valorParaTabela(alfa, ply), melhorLance);
+                    return alfa;
+                }
+            }
+        }
+        if (legais == 0) return xeque ? -MATE + ply : 0;
+
+        tabela.guardar(chave, profundidade,
+                       alfa > alfaOriginal ? TabelaTransposicao.EXATO : TabelaTransposicao.SUPERIOR,
+                       valorParaTabela(alfa, ply), alfa > alfaOriginal ? melhorLance : lanceTabela);
+        return alfa;
+    }
+
+    /* níveis de redução do (legais)-ésimo lance legal, pela sua posição na ordenação */
+    private static int reducao(int legais) {
+        if (legais <= LANCES_SEM_REDUCAO) return 0;
+        return legais < LANCES_REDUCAO_DUPLA ? 1 : 2;
+    }
+
+    /* o lado tem alguma peça além de peões e rei (sem isso, zugzwang é comum e o lance nulo engana) */
+    private boolean temPecas(Cor cor) {
+        return (tabuleiro.getOcupacao(cor) & ~tabuleiro.getBitboard(Peca.PEAO, cor)
+                & ~tabuleiro.getBitboard(Peca.REI, cor)) != 0;
+    }
+
+    /* só capturas e promoções, a partir da avaliação estática (o lado a jogar pode não capturar) */
+    private int quiescencia(int ply, int alfa, int beta) {
+        pvTamanho[ply] = 0;
+        if ((++nos & (INTERVALO_PARADA - 1)) == 0
+                && (parada || profundidadeAlcancada > 0 && relogio.esgotado()))
+            abortada = true;
+        if (abortada) return 0;
+
+        int parado = Avaliacao.avaliar(tabuleiro);
+        if (parado >= beta || ply >= MAX_PLY - 1) return parado;
+        if (parado > alfa) alfa = parado;
+
+        Cor cor = tabuleiro.getVez();
+        int[] buffer = lances[ply];
+        int n = tabuleiro.gerarCapturas(cor, buffer);
+        ordenacao.pontuar(tabuleiro, buffer, n, ply, Movimento.NENHUM);
+
+        for (int i = 0; i < n; i++) {
+            int lance = ordenacao.proximo(buffer, n, i, ply);
+            if (Movimento.promocao(lance) == 0 && troca.avaliar(tabuleiro, lance) < 0) continue;
+            tabuleiro.fazerLance(lance);
+            if (tabuleiro.emXeque(cor)) {
+                tabuleiro.desfazerLance();
+                continue;
+            }
+            int valor = -quiescencia(ply + 1, -beta, -alfa);
+            tabuleiro.desfazerLance();
+            if (abortada) return 0;
+
+            if (valor > alfa) {
+                alfa = valor;
+                atualizarPv(ply, lance);
+                if (alfa >= beta) return alfa;
+            }
+        }
+        return alfa;
+    }
+
+    /* valores de mate são guardados relativos ao nó, não à raiz */
+    private static int valorParaTabela(int valor, int ply) {
+        if (valor >= MATE - MAX_PLY) return valor + ply;
+        if (valor <= -MATE + MAX_PLY) return valor - ply;
+        return valor;
+    }
+
+    private static int valorDaTabela(int valor, int ply) {
+        if (valor >= MATE - MAX_PLY) return valor - ply;
+        if (valor <= -MATE + MAX_PLY) return valor + ply;
+        return valor;
+    }
+
+    private void atualizarPv(int ply, int lance) {
+        pv[ply][0] = lance;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvTamanho[ply + 1]);
+        pvTamanho[ply] = pvTamanho[ply + 1] + 1;
+    }
+}
@@ -0,0 +1,134 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Busca paralela no estilo Lazy SMP.
+ *
+ * · N threads buscam a mesma raiz, cada uma com a sua Busca e a sua cópia do
+ *   tabuleiro, compartilhando uma única TabelaTransposicao (sem travas).
+ * · As threads auxiliares começam em profundidades escalonadas (2, 3, 2, 3, ...),
+ *   preenchendo a tabela à frente da thread principal.
+ * · O resultado é o da thread principal, que controla o tempo; ao terminar,
+ *   ela para as auxiliares.
+ * · Após a busca ficam disponíveis os nós de cada thread e o total.
+ *
+ * Uso: java model.BuscaParalela <profundidade> <threads máx.>
+ *      (mede o tempo até a profundidade com 1, 2, 4, ... threads)
+ */
+final class BuscaParalela {
+
+    private final Tabuleiro tabuleiro;
+    private final TabelaTransposicao tabela;
+    private final int threads;
+
+    private long[] nosPorThread = new long[0];
+    private volatile Busca principal;
+    private volatile boolean parada;
+
+    BuscaParalela(Tabuleiro tabuleiro, int threads, TabelaTransposicao tabela) {
+        if (threads < 1) throw new IllegalArgumentException("threads deve ser >= 1");
+        this.tabuleiro = tabuleiro;
+        this.threads = threads;
+        this.tabela = tabela;
+    }
+
+    int melhorLance(long orcamentoMs) {
+        return melhorLance(orcamentoMs, Busca.MAX_PLY - 1);
+    }
+
+    int melhorLance(long orcamentoMs, int profundidadeMaxima) {
+        return melhorLance(Relogio.fixo(orcamentoMs), profundidadeMaxima);
+    }
+
+    /* o relógio controla só a thread principal; as auxiliares param quando ela termina */
+    int melhorLance(Relogio relogio, int profundidadeMaxima) {
+        tabela.novaBusca();
+        principal = new Busca(tabuleiro, tabela);
+        if (parada) principal.parar();
+        Busca[] auxiliares = new Busca[threads - 1];
+        Thread[] execucoes = new Thread[threads - 1];
+        for (int i = 0; i < auxiliares.length; i++) {
+            Busca auxiliar = new Busca(tabuleiro, tabela);
+            auxiliar.setProfundidadeInicial(2 + (i & 1));
+            auxiliares[i] = auxiliar;
+            execucoes[i] = new Thread(() -> auxiliar.melhorLance(Relogio.semLimite(), profundidadeMaxima),
+                                      "busca-auxiliar-" + (i + 1));
+            execucoes[i].setDaemon(true);
+            execucoes[i].start();
+        }
+
+        int lance = principal.melhorLance(relogio, profundidadeMaxima);
+
+        for (Busca auxiliar : auxiliares) auxiliar.parar();
+        nosPorThread = new long[threads];
+        nosPorThread[0] = principal.getNos();
+        for (int i = 0; i < execucoes.length; i++) {
+            try {
+                execucoes[i].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            nosPorThread[i + 1] = auxiliares[i].getNos();
+        }
+        parada = false;
+        return lance;
+    }
+
+    /* pedido de parada vindo de outra thread, mesmo antes de melhorLance começar */
+    void parar() {
+        parada = true;
+        Busca busca = principal;
+        if (busca != null) busca.parar();
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    long[] getNosPorThread() {
+        return nosPorThread.clone();
+    }
+
+    long getNos() {
+        long total = 0;
+        for (long n : nosPorThread) total += n;
+        return total;
+    }
+
+    long getNosPorSegundo() {
+        return getNos() * 1000 / Math.max(1, principal.getTempoMs());
+    }
+
+    long getTempoMs() {
+        return principal.getTempoMs();
+    }
+
+    int getProfundidadeAlcancada() {
+        return principal.getProfundidadeAlcancada();
+    }
+
+    int getPontuacao() {
+        return principal.getPontuacao();
+    }
+
+    int[] getVariacaoPrincipal() {
+        return principal.getVariacaoPrincipal();
+    }
+
+    public static void main(String[] args) {
+        int profundidade = args.length > 0 ? Integer.parseInt(args[0]) : 7;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        for (int n = 1; n <= maxThreads; n *= 2) {
+            BuscaParalela busca = new BuscaParalela(new Tabuleiro(), n, new TabelaTransposicao(64));
+            long inicio = System.nanoTime();
+            int lance = busca.melhorLance(Relogio.semLimite(), profundidade);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+            System.out.println(n + " thread(s): profundidade " + busca.getProfundidadeAlcancada()
+                               + " em " + ms + " ms, " + busca.getNos() + " nós "
+                               + Arrays.toString(busca.getNosPorThread())
+                               + ", lance " + Movimento.paraTexto(lance));
+        }
+    }
+}
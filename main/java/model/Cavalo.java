@@ -7,14 +7,18 @@ class Cavalo extends Peca {
     }
 
     @Override
-    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
-    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+    int getTipo() {
+        return CAVALO;
+    }
 
-        int dx = Math.abs(linha - l);
-        int dy = Math.abs(coluna - c);
-        if (!((dx == 2 && dy == 1) || (dx == 1 && dy == 2))) return false;
+    @Override
+    long destinos(Tabuleiro tabuleiro) {
+        return Ataques.cavalo(Bitboard.casa(linha, coluna)) & ~tabuleiro.getOcupacao(cor);
+    }
 
-        Peca destino = tabuleiro.getPeca(l, c);
-        return destino == null || destino.getCor() != cor;
+    @Override
+    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
+    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+        return (destinos(tabuleiro) & Bitboard.bit(Bitboard.casa(l, c))) != 0;
     }
 }
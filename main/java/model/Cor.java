@@ -2,4 +2,8 @@ package model;
 
 enum Cor {
     BRANCO, PRETO;
+
+    Cor oposta() {
+        return this == BRANCO ? PRETO : BRANCO;
+    }
 }
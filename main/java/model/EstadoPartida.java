@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * Situação da partida para o lado que tem a vez (ver JogoXadrez.getEstado).
+ */
+public enum EstadoPartida {
+    EM_ANDAMENTO, XEQUE, XEQUE_MATE, AFOGAMENTO, EMPATE_REPETICAO, EMPATE_50_LANCES;
+
+    /* true se a partida acabou */
+    public boolean terminal() {
+        return this != EM_ANDAMENTO && this != XEQUE;
+    }
+}
@@ -0,0 +1,182 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura e escrita de posições em FEN (Forsyth-Edwards).
+ *
+ * · ler() percorre o texto uma vez, direto de um CharSequence ou de um trecho
+ *   de byte[] (ASCII), sem criar Strings nem objetos: serve para carregar
+ *   milhões de posições de suítes de teste e registros. Só o erro aloca.
+ * · Meios-lances e número do lance são opcionais, e o que vier depois deles
+ *   é ignorado: linhas EPD ("... w - - bm Qd1+;") são lidas como FEN.
+ * · Como o Tabuleiro após um avanço duplo, a coluna de en passant só é guardada
+ *   se um peão do lado a jogar puder capturar, e direitos de roque sem o rei ou
+ *   a torre na casa inicial são descartados; assim a chave de Zobrist da posição
+ *   lida é a mesma da posição alcançada jogando.
+ */
+final class Fen {
+
+    static final String INICIAL = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /* letra de cada índice de peça (tipo + 6 * cor) e de cada bit de roque */
+    private static final String PECAS = "PNBRQKpnbrqk";
+    private static final String ROQUES = "KQkq";
+
+    /* rei e torre exigidos por cada bit de roque (ROQUE_BRANCO_CURTO .. ROQUE_PRETO_LONGO) */
+    private static final int[] CASA_REI = { 60, 60, 4, 4 };
+    private static final int[] CASA_TORRE = { 63, 56, 7, 0 };
+
+    private Fen() {
+    }
+
+    static void ler(CharSequence texto, Tabuleiro destino) {
+        lerFonte(texto, 0, texto.length(), destino);
+    }
+
+    static void ler(CharSequence texto, int inicio, int fim, Tabuleiro destino) {
+        lerFonte(texto, inicio, fim, destino);
+    }
+
+    /* trecho [inicio, fim) de bytes ASCII, por exemplo uma linha de arquivo */
+    static void ler(byte[] texto, int inicio, int fim, Tabuleiro destino) {
+        lerFonte(texto, inicio, fim, destino);
+    }
+
+    /* fonte é CharSequence ou byte[]: um só laço para os dois, sem embrulhar os bytes */
+    private static int em(Object fonte, int i) {
+        return fonte instanceof byte[] ? ((byte[]) fonte)[i] & 0xFF : ((CharSequence) fonte).charAt(i);
+    }
+
+    private static boolean espaco(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\r' || ch == '\n';
+    }
+
+    private static int pularEspacos(Object fonte, int i, int fim) {
+        while (i < fim && espaco(em(fonte, i))) i++;
+        return i;
+    }
+
+    private static void lerFonte(Object fonte, int inicio, int fim, Tabuleiro t) {
+        t.limpar();
+        int i = pularEspacos(fonte, inicio, fim);
+
+        /* 1. peças, da oitava fileira (linha 0) à primeira */
+        int linha = 0, coluna = 0;
+        for (; i < fim && !espaco(em(fonte, i)); i++) {
+            int ch = em(fonte, i);
+            if (ch == '/') {
+                if (coluna != 8 || ++linha > 7) throw erro(fonte, inicio, fim, "fileira com tamanho errado");
+                coluna = 0;
+            } else if (ch >= '1' && ch <= '8') {
+                coluna += ch - '0';
+                if (coluna > 8) throw erro(fonte, inicio, fim, "fileira com tamanho errado");
+            } else {
+                int indice = PECAS.indexOf(ch);
+                if (indice < 0) throw erro(fonte, inicio, fim, "peça desconhecida");
+                if (coluna > 7) throw erro(fonte, inicio, fim, "fileira com tamanho errado");
+                t.moverPeca(Peca.em(indice, Bitboard.casa(linha, coluna)), linha, coluna);
+                coluna++;
+            }
+        }
+        if (linha != 7 || coluna != 8) throw erro(fonte, inicio, fim, "posição incompleta");
+
+        /* 2. lado a jogar */
+        i = pularEspacos(fonte, i, fim);
+        int lado = i < fim ? em(fonte, i++) : -1;
+        if (lado != 'w' && lado != 'b' || i < fim && !espaco(em(fonte, i)))
+            throw erro(fonte, inicio, fim, "lado a jogar inválido");
+        Cor vez = lado == 'w' ? Cor.BRANCO : Cor.PRETO;
+
+        /* 3. roque */
+        i = pularEspacos(fonte, i, fim);
+        if (i >= fim) throw erro(fonte, inicio, fim, "falta o roque");
+        int direitos = 0;
+        if (em(fonte, i) == '-') {
+            i++;
+        } else {
+            for (; i < fim && !espaco(em(fonte, i)); i++) {
+                int d = ROQUES.indexOf(em(fonte, i));
+                if (d < 0) throw erro(fonte, inicio, fim, "roque inválido");
+                Cor cor = d < 2 ? Cor.BRANCO : Cor.PRETO;
+                if ((t.getBitboard(Peca.REI, cor) & Bitboard.bit(CASA_REI[d])) != 0
+                        && (t.getBitboard(Peca.TORRE, cor) & Bitboard.bit(CASA_TORRE[d])) != 0)
+                    direitos |= 1 << d;
+            }
+        }
+
+        /* 4. en passant */
+        i = pularEspacos(fonte, i, fim);
+        if (i >= fim) throw erro(fonte, inicio, fim, "falta o en passant");
+        int colunaEp = -1;
+        if (em(fonte, i) == '-') {
+            i++;
+        } else {
+            int c = i + 1 < fim ? em(fonte, i) - 'a' : -1;
+            int fileira = i + 1 < fim ? em(fonte, i + 1) : -1;
+            if (c < 0 || c > 7 || fileira != (vez == Cor.BRANCO ? '6' : '3'))
+                throw erro(fonte, inicio, fim, "en passant inválido");
+            i += 2;
+            int alvo = Bitboard.casa(vez == Cor.BRANCO ? 2 : 5, c);
+            if ((Ataques.peao(vez.oposta(), alvo) & t.getBitboard(Peca.PEAO, vez)) != 0) colunaEp = c;
+        }
+        if (i < fim && !espaco(em(fonte, i))) throw erro(fonte, inicio, fim, "en passant inválido");
+
+        /* 5 e 6. meios-lances e número do lance, se houver */
+        int meioLances = 0, numero = 1;
+        i = pularEspacos(fonte, i, fim);
+        if (i < fim && Character.isDigit(em(fonte, i))) {
+            for (; i < fim && Character.isDigit(em(fonte, i)); i++) meioLances = meioLances * 10 + em(fonte, i) - '0';
+            i = pularEspacos(fonte, i, fim);
+            if (i < fim && Character.isDigit(em(fonte, i))) {
+                numero = 0;
+                for (; i < fim && Character.isDigit(em(fonte, i)); i++) numero = numero * 10 + em(fonte, i) - '0';
+            }
+        }
+
+        t.setEstado(Tabuleiro.empacotarEstado(direitos, colunaEp, vez, meioLances));
+        t.setNumeroLance(Math.max(1, numero));
+    }
+
+    private static IllegalArgumentException erro(Object fonte, int inicio, int fim, String motivo) {
+        String texto = fonte instanceof byte[]
+                ? new String((byte[]) fonte, inicio, fim - inicio, StandardCharsets.ISO_8859_1)
+                : ((CharSequence) fonte).subSequence(inicio, fim).toString();
+        return new IllegalArgumentException("FEN inválida (" + motivo + "): " + texto.trim());
+    }
+
+    /* acrescenta a FEN da posição a sb, sem outras alocações */
+    static StringBuilder escrever(Tabuleiro t, StringBuilder sb) {
+        for (int linha = 0; linha < 8; linha++) {
+            if (linha > 0) sb.append('/');
+            int vazias = 0;
+            for (int coluna = 0; coluna < 8; coluna++) {
+                Peca p = t.getPeca(linha, coluna);
+                if (p == null) {
+                    vazias++;
+                    continue;
+                }
+                if (vazias > 0) sb.append((char) ('0' + vazias));
+                vazias = 0;
+                sb.append(PECAS.charAt(p.getIndice()));
+            }
+            if (vazias > 0) sb.append((char) ('0' + vazias));
+        }
+
+        sb.append(t.getVez() == Cor.BRANCO ? " w " : " b ");
+        int direitos = t.getDireitosRoque();
+        if (direitos == 0) sb.append('-');
+        for (int d = 0; d < 4; d++)
+            if ((direitos & (1 << d)) != 0) sb.append(ROQUES.charAt(d));
+
+        int colunaEp = t.getColunaEnPassant();
+        if (colunaEp < 0) sb.append(" -");
+        else sb.append(' ').append((char) ('a' + colunaEp)).append(t.getVez() == Cor.BRANCO ? '6' : '3');
+
+        return sb.append(' ').append(t.getMeioLances()).append(' ').append(t.getNumeroLance());
+    }
+
+    static String paraTexto(Tabuleiro t) {
+        return escrever(t, new StringBuilder(90)).toString();
+    }
+}
@@ -1,25 +1,67 @@
 package model;
 
+/**
+ * Façade de uma partida.
+ *
+ * · Cada instância é uma partida independente e não é thread-safe: quem a usa
+ *   de várias threads deve sincronizar por conta própria.
+ * · Várias partidas simultâneas são criadas e localizadas por RegistroPartidas;
+ *   getInstancia() mantém a partida única usada pela interface original.
+ * · selecionaCasa só aceita lances legais e nenhum depois que a partida acabou
+ *   (getEstado() terminal, empates inclusive). selecionaPeca calcula uma vez a
+ *   máscara de destinos legais da peça (com os xequeadores e as cravadas do
+ *   lado da vez, ver Tabuleiro.lanceLegal); a interface a consulta com
+ *   getDestinosLegais()/destinoLegal() e selecionaCasa só testa um bit.
+ * · getEstado() informa xeque, xeque-mate, afogamento e empates por tripla
+ *   repetição e pela regra dos 50 lances (histórico de posições no Tabuleiro,
+ *   atualizado a cada selecionaCasa).
+ * · jogadaDoComputador usa uma só tabela de transposição por partida, criada na
+ *   primeira jogada: cada busca aproveita o que as anteriores guardaram.
+ */
 public class JogoXadrez {
     private static JogoXadrez instancia = null;
     private Tabuleiro tabuleiro;
-    private Cor jogadorDaVez;
     private Peca pecaSelecionada;
+    private long destinosLegais;
+    private TabelaTransposicao tabela;
 
-    private JogoXadrez() {
+    public JogoXadrez() {
         tabuleiro = new Tabuleiro();
-        jogadorDaVez = Cor.BRANCO;
     }
 
-    public static JogoXadrez getInstancia() {
+    /* retoma uma partida guardada com retrato() */
+    JogoXadrez(long[] retrato) {
+        tabuleiro = new Tabuleiro(retrato);
+    }
+
+    /* partida a partir de uma posição em FEN; IllegalArgumentException se a FEN for inválida */
+    public JogoXadrez(CharSequence fen) {
+        tabuleiro = new Tabuleiro(fen);
+    }
+
+    public static synchronized JogoXadrez getInstancia() {
         if (instancia == null) instancia = new JogoXadrez();
         return instancia;
     }
 
+    long[] retrato() {
+        return tabuleiro.retrato();
+    }
+
+    /* tabela de transposição das jogadas do computador (null antes da primeira) */
+    TabelaTransposicao getTabela() {
+        return tabela;
+    }
+
+    public String getFen() {
+        return tabuleiro.paraFen();
+    }
+
     public boolean selecionaPeca(int linha, int coluna) {
         Peca p = tabuleiro.getPeca(linha, coluna);
-        if (p != null && p.getCor() == jogadorDaVez) {
+        if (p != null && p.getCor() == tabuleiro.getVez()) {
             pecaSelecionada = p;
+            destinosLegais = destinosLegais(p);
             return true;
         }
         return false;
@@ -27,30 +69,93 @@ public class JogoXadrez {
 
     public boolean selecionaCasa(int linha, int coluna) {
         if (pecaSelecionada == null) return false;
-        boolean podeMover = pecaSelecionada.podeMoverPara(tabuleiro, linha, coluna);
+        boolean podeMover = destinoLegal(linha, coluna) && !getEstado().terminal();
         if (podeMover) {
-            tabuleiro.moverPeca(pecaSelecionada, linha, coluna);
-            
-         // Verifica promoção
-            if (pecaSelecionada instanceof Peao) {
-                boolean chegouNoFim =
-                    (pecaSelecionada.getCor() == Cor.BRANCO && linha == 0) ||
-                    (pecaSelecionada.getCor() == Cor.PRETO && linha == 7);
-
-                if (chegouNoFim) {
-                    // substitui diretamente por rainha
-                    Peca novaRainha = new Rainha(pecaSelecionada.getCor(), linha, coluna);
-                    tabuleiro.moverPeca(novaRainha, linha, coluna);
-                }
-            }
-            
-            alternarJogador();
+            int origem = Bitboard.casa(pecaSelecionada.getLinha(), pecaSelecionada.getColuna());
+            int destino = Bitboard.casa(linha, coluna);
+
+         // Verifica promoção (substitui diretamente por rainha)
+            boolean chegouNoFim = pecaSelecionada instanceof Peao && (linha == 0 || linha == 7);
+
+            // roque, en passant e a troca de vez ficam com o tabuleiro
+            tabuleiro.jogar(chegouNoFim ? Movimento.criar(origem, destino, Peca.RAINHA)
+                                        : Movimento.criar(origem, destino));
         }
         pecaSelecionada = null;
         return podeMover;
     }
 
-    private void alternarJogador() {
-        jogadorDaVez = (jogadorDaVez == Cor.BRANCO) ? Cor.PRETO : Cor.BRANCO;
+    /**
+     * Casas para onde a peça selecionada pode ir legalmente, um bit por casa
+     * (casa = linha * 8 + coluna); 0 se nenhuma peça está selecionada.
+     */
+    public long getDestinosLegais() {
+        return pecaSelecionada == null ? 0L : destinosLegais;
+    }
+
+    /* true se a peça selecionada pode ir legalmente para (linha, coluna) */
+    public boolean destinoLegal(int linha, int coluna) {
+        return Bitboard.dentro(linha, coluna) && (getDestinosLegais() & Bitboard.bit(Bitboard.casa(linha, coluna))) != 0;
+    }
+
+    /**
+     * Joga pelo lado da vez o lance escolhido pela Busca em até orcamentoMs milissegundos.
+     * O lance passa pela mesma verificação de selecionaPeca/destinoLegal e é jogado
+     * como a busca o devolveu, inclusive a peça de uma subpromoção.
+     *
+     * @return false se não há lance legal ou se a partida já acabou
+     */
+    public boolean jogadaDoComputador(long orcamentoMs) {
+        if (getEstado().terminal()) return false;
+        if (tabela == null) tabela = new TabelaTransposicao(Busca.MEGABYTES_PADRAO);
+        int lance = new Busca(tabuleiro, tabela).melhorLance(orcamentoMs);
+        if (lance == Movimento.NENHUM) return false;
+        int origem = Movimento.origem(lance), destino = Movimento.destino(lance);
+        boolean legal = selecionaPeca(Bitboard.linha(origem), Bitboard.coluna(origem))
+                     && destinoLegal(Bitboard.linha(destino), Bitboard.coluna(destino));
+        pecaSelecionada = null;
+        if (legal) tabuleiro.jogar(lance);
+        return legal;
+    }
+
+    /**
+     * Situação do lado que tem a vez: em xeque, xeque-mate, afogamento, empate
+     * (50 lances ou tripla repetição) ou em andamento. O mate vale mesmo no lance
+     * que completa os 50. Sem rei, só os empates encerram a partida.
+     */
+    public EstadoPartida getEstado() {
+        Cor cor = tabuleiro.getVez();
+        long xeq = tabuleiro.xequeadores(cor);
+        boolean semRei = tabuleiro.getBitboard(Peca.REI, cor) == 0;
+        if (!semRei && !temLanceLegal(cor, xeq))
+            return xeq != 0 ? EstadoPartida.XEQUE_MATE : EstadoPartida.AFOGAMENTO;
+
+        if (tabuleiro.getMeioLances() >= 100) return EstadoPartida.EMPATE_50_LANCES;
+        if (tabuleiro.repeticoes() >= 2) return EstadoPartida.EMPATE_REPETICAO;
+        return xeq != 0 ? EstadoPartida.XEQUE : EstadoPartida.EM_ANDAMENTO;
+    }
+
+    /* para no primeiro lance legal; percorre as máscaras de destino das peças, sem vetor de lances */
+    private boolean temLanceLegal(Cor cor, long xequeadores) {
+        long cravadas = tabuleiro.cravadas(cor);
+        for (long pecas = tabuleiro.getOcupacao(cor); pecas != 0; pecas &= pecas - 1) {
+            int origem = Long.numberOfTrailingZeros(pecas);
+            for (long d = tabuleiro.getPeca(origem).destinos(tabuleiro); d != 0; d &= d - 1)
+                if (tabuleiro.lanceLegal(Movimento.criar(origem, Long.numberOfTrailingZeros(d)), xequeadores, cravadas))
+                    return true;
+        }
+        return false;
+    }
+
+    private long destinosLegais(Peca p) {
+        long xequeadores = tabuleiro.xequeadores(p.getCor()), cravadas = tabuleiro.cravadas(p.getCor());
+        int origem = Bitboard.casa(p.getLinha(), p.getColuna());
+        long legais = 0L;
+        for (long d = p.destinos(tabuleiro); d != 0; d &= d - 1) {
+            int destino = Long.numberOfTrailingZeros(d);
+            if (tabuleiro.lanceLegal(Movimento.criar(origem, destino), xequeadores, cravadas))
+                legais |= d & -d;
+        }
+        return legais;
     }
 }
@@ -0,0 +1,442 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Leitor de arquivos PGN grandes, partida por partida, reproduzindo cada uma
+ * no Tabuleiro.
+ *
+ * · O arquivo é mapeado em memória em segmentos (no máximo 1 GB cada) que
+ *   começam sempre no início de uma partida ("[Event " no começo de linha);
+ *   nenhuma partida atravessa dois segmentos. A memória usada não depende do
+ *   tamanho do arquivo: por leitor, um tabuleiro e os lances da partida atual.
+ * · Cada lance em SAN é decodificado com a validação do próprio modelo
+ *   (Peca.destinos + lanceLegal) e aplicado com Tabuleiro.jogar; um lance
+ *   ilegal, ambíguo ou malformado invalida a partida, que é contada em getErros.
+ * · Comentários, variantes, NAGs e o sufixo "+#!?" são ignorados; a tag FEN dá a
+ *   posição de partida. Os bytes são lidos direto do arquivo mapeado, sem criar
+ *   Strings (só os erros alocam).
+ * · lerParalelo entrega os segmentos a um ForkJoinPool, cada tarefa com o seu
+ *   tabuleiro; as partidas chegam ao Receptor fora de ordem, identificadas pela
+ *   posição no arquivo.
+ *
+ * Uso: java model.LeitorPgn <arquivo.pgn> [paralelo]
+ */
+final class LeitorPgn {
+
+    /* limite de um MappedByteBuffer, arredondado */
+    static final long SEGMENTO_MAXIMO = 1L << 30;
+
+    /* no modo paralelo, segmentos por thread (equilíbrio entre as threads) e tamanho mínimo */
+    private static final int SEGMENTOS_POR_THREAD = 4;
+    private static final long SEGMENTO_MINIMO = 1L << 20;
+
+    private static final byte[] MARCA = "\n[Event ".getBytes(StandardCharsets.US_ASCII);
+    private static final int JANELA = 1 << 16;
+
+    private static final int TAMANHO_TOKEN = 32;
+    private static final int TAMANHO_FEN = 128;
+
+    /**
+     * Recebe cada partida válida. lances e posicaoFinal são reaproveitados pelo
+     * leitor e só valem durante a chamada. Em lerParalelo é chamado de várias
+     * threads ao mesmo tempo.
+     */
+    interface Receptor {
+        void partida(long posicao, int[] lances, int quantidade, Tabuleiro posicaoFinal);
+    }
+
+    private final Path arquivo;
+    private final long tamanhoSegmento;
+
+    private long partidas, erros, lances;
+    private long posicaoPrimeiroErro = -1;
+    private String primeiroErro;
+
+    LeitorPgn(Path arquivo) {
+        this(arquivo, SEGMENTO_MAXIMO);
+    }
+
+    /* tamanhoSegmento menor que o máximo serve para testar a divisão em arquivos pequenos */
+    LeitorPgn(Path arquivo, long tamanhoSegmento) {
+        this.arquivo = arquivo;
+        this.tamanhoSegmento = Math.max(1, Math.min(SEGMENTO_MAXIMO, tamanhoSegmento));
+    }
+
+    long getPartidas() {
+        return partidas;
+    }
+
+    long getErros() {
+        return erros;
+    }
+
+    long getLances() {
+        return lances;
+    }
+
+    /* motivo do erro que aparece primeiro no arquivo (null se não houve) */
+    String getPrimeiroErro() {
+        return primeiroErro;
+    }
+
+    /** @return quantidade de partidas válidas */
+    long ler(Receptor receptor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long[] limites = dividir(canal, tamanhoSegmento);
+            Decodificador d = new Decodificador(receptor);
+            for (int s = 0; s + 1 < limites.length; s++)
+                d.ler(canal.map(FileChannel.MapMode.READ_ONLY, limites[s], limites[s + 1] - limites[s]), limites[s]);
+            somar(d);
+        }
+        return partidas;
+    }
+
+    /** @return quantidade de partidas válidas */
+    long lerParalelo(ForkJoinPool pool, Receptor receptor) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long porThread = canal.size() / ((long) pool.getParallelism() * SEGMENTOS_POR_THREAD);
+            long[] limites = dividir(canal, Math.min(tamanhoSegmento, Math.max(SEGMENTO_MINIMO, porThread)));
+
+            List<ForkJoinTask<Decodificador>> tarefas = new ArrayList<>(limites.length);
+            for (int s = 0; s + 1 < limites.length; s++) {
+                MappedByteBuffer segmento = canal.map(FileChannel.MapMode.READ_ONLY, limites[s], limites[s + 1] - limites[s]);
+                long base = limites[s];
+                tarefas.add(pool.submit(() -> {
+                    Decodificador d = new Decodificador(receptor);
+                    d.ler(segmento, base);
+                    return d;
+                }));
+            }
+            for (ForkJoinTask<Decodificador> t : tarefas) somar(t.join());
+        }
+        return partidas;
+    }
+
+    private void somar(Decodificador d) {
+        partidas += d.partidas;
+        erros += d.erros;
+        lances += d.lances;
+        if (d.primeiroErro != null && (primeiroErro == null || d.posicaoPrimeiroErro < posicaoPrimeiroErro)) {
+            primeiroErro = d.primeiroErro;
+            posicaoPrimeiroErro = d.posicaoPrimeiroErro;
+        }
+    }
+
+    /* limites dos segmentos: 0, inícios de partida a cada ~alvo bytes, tamanho do arquivo */
+    private static long[] dividir(FileChannel canal, long alvo) throws IOException {
+        long tamanho = canal.size();
+        long[] limites = new long[8];
+        int n = 0;
+        limites[n++] = 0;
+        ByteBuffer janela = ByteBuffer.allocate(JANELA);
+        for (long inicio = 0; inicio < tamanho; ) {
+            long proximo = tamanho;
+            if (tamanho - inicio > alvo) {
+                proximo = proximaPartida(canal, janela, inicio + alvo, tamanho);
+                /* partida maior que o segmento: corta no início da partida seguinte */
+                if (proximo - inicio > SEGMENTO_MAXIMO)
+                    throw new IOException("partida com mais de " + SEGMENTO_MAXIMO + " bytes em " + inicio);
+            }
+            if (n == limites.length) limites = Arrays.copyOf(limites, 2 * n);
+            limites[n++] = proximo;
+            inicio = proximo;
+        }
+        return Arrays.copyOf(limites, n);
+    }
+
+    /* primeira "\n[Event " a partir de desde; devolve a posição do '[' (ou tamanho, se não houver) */
+    private static long proximaPartida(FileChannel canal, ByteBuffer janela, long desde, long tamanho) throws IOException {
+        for (long p = desde - 1; p < tamanho; p += JANELA - MARCA.length) {
+            janela.clear();
+            while (janela.hasRemaining() && canal.read(janela, p + janela.position()) > 0) {
+            }
+            int lidos = janela.position();
+            for (int k = 0; k + MARCA.length <= lidos; k++) {
+                int m = 0;
+                while (m < MARCA.length && janela.get(k + m) == MARCA[m]) m++;
+                if (m == MARCA.length) return p + k + 1;
+            }
+            if (p + lidos >= tamanho) break;
+        }
+        return tamanho;
+    }
+
+    /* estado de leitura de uma thread: tabuleiro, lances da partida atual e contagens */
+    private static final class Decodificador {
+
+        private final Receptor receptor;
+        private final Tabuleiro tabuleiro = new Tabuleiro();
+        private final byte[] token = new byte[TAMANHO_TOKEN];
+        private final byte[] fen = new byte[TAMANHO_FEN];
+        private int[] jogados = new int[256];
+        private int quantidade;
+
+        private boolean emPartida;          // já leu tag ou lance da partida atual
+        private boolean nasJogadas;         // já passou das tags
+        private long inicioPartida;
+        private String erro;                // não nulo: partida inválida, só procura o fim
+
+        long partidas, erros, lances;
+        long posicaoPrimeiroErro = -1;
+        String primeiroErro;
+
+        Decodificador(Receptor receptor) {
+            this.receptor = receptor;
+        }
+
+        void ler(ByteBuffer b, long base) {
+            int fim = b.limit();
+            int i = 0;
+            if (base == 0 && fim >= 3 && b.get(0) == (byte) 0xEF && b.get(1) == (byte) 0xBB && b.get(2) == (byte) 0xBF)
+                i = 3;                                                   // BOM do UTF-8
+            while (i < fim) {
+                int ch = b.get(i) & 0xFF;
+                if (ch <= ' ') {
+                    i++;
+                } else if (ch == '[') {
+                    if (nasJogadas) terminar();                          // partida sem resultado
+                    if (!emPartida) comecar(base + i);
+                    i = lerTag(b, i, fim);
+                } else if (ch == '{') {
+                    i = pularAte(b, i, fim, '}');
+                } else if (ch == ';' || ch == '%' && (i == 0 || b.get(i - 1) == '\n')) {
+                    i = pularAte(b, i, fim, '\n');
+                } else if (ch == '(') {
+                    i = pularVariante(b, i, fim);
+                } else if (ch == ')') {
+                    i++;
+                } else if (ch == '$') {
+                    for (i++; i < fim && Character.isDigit(b.get(i)); i++) {
+                    }
+                } else {
+                    int j = i;
+                    while (j < fim && !separador(b.get(j) & 0xFF)) j++;
+                    if (!emPartida) comecar(base + i);
+                    nasJogadas = true;
+                    jogada(b, i, j, base);
+                    i = j;
+                }
+            }
+            if (emPartida) terminar();
+        }
+
+        private static boolean separador(int ch) {
+            return ch <= ' ' || ch == '{' || ch == '(' || ch == ')' || ch == '[' || ch == ';' || ch == '$';
+        }
+
+        private static int pularAte(ByteBuffer b, int i, int fim, char fecho) {
+            while (i < fim && b.get(i) != fecho) i++;
+            return i + 1;
+        }
+
+        /* variantes podem ter variantes e comentários (com parênteses) dentro */
+        private static int pularVariante(ByteBuffer b, int i, int fim) {
+            int nivel = 0;
+            while (i < fim) {
+                byte ch = b.get(i);
+                if (ch == '{') {
+                    i = pularAte(b, i, fim, '}');
+                    continue;
+                }
+                if (ch == ';') {
+                    i = pularAte(b, i, fim, '\n');
+                    continue;
+                }
+                i++;
+                if (ch == '(') nivel++;
+                else if (ch == ')' && --nivel == 0) break;
+            }
+            return i;
+        }
+
+        private void comecar(long posicao) {
+            emPartida = true;
+            nasJogadas = false;
+            inicioPartida = posicao;
+            quantidade = 0;
+            erro = null;
+            tabuleiro.limpar();
+            tabuleiro.inicializar();
+        }
+
+        private void terminar() {
+            if (erro == null) {
+                partidas++;
+                lances += quantidade;
+                receptor.partida(inicioPartida, jogados, quantidade, tabuleiro);
+            } else {
+                erros++;
+                if (primeiroErro == null) {
+                    primeiroErro = "partida em " + inicioPartida + ": " + erro;
+                    posicaoPrimeiroErro = inicioPartida;
+                }
+            }
+            emPartida = nasJogadas = false;
+            erro = null;
+        }
+
+        /* [Nome "valor"]; só a tag FEN importa */
+        private int lerTag(ByteBuffer b, int i, int fim) {
+            int nome = i + 1;
+            int aspas = nome;
+            while (aspas < fim && b.get(aspas) != '"' && b.get(aspas) != ']') aspas++;
+            int j = aspas + 1;
+            while (j < fim && b.get(j) != '"' && b.get(j) != '\n') {
+                if (b.get(j) == '\\') j++;
+                j++;
+            }
+            if (aspas < fim && b.get(aspas) == '"' && aspas - nome >= 4 && b.get(nome) == 'F' && b.get(nome + 1) == 'E'
+                    && b.get(nome + 2) == 'N' && b.get(nome + 3) <= ' ' && erro == null) {
+                int n = Math.min(j, fim) - (aspas + 1);
+                if (n > TAMANHO_FEN) {
+                    erro = "tag FEN longa demais";
+                } else {
+                    b.get(aspas + 1, fen, 0, n);
+                    try {
+                        Fen.ler(fen, 0, n, tabuleiro);
+                    } catch (IllegalArgumentException e) {
+                        erro = e.getMessage();
+                    }
+                }
+            }
+            while (j < fim && b.get(j) != ']' && b.get(j) != '\n') j++;
+            return j + 1;
+        }
+
+        /* um token das jogadas: número do lance, resultado ou lance em SAN */
+        private void jogada(ByteBuffer b, int i, int j, long base) {
+            int n = j - i;
+            if (igual(b, i, n, "1-0") || igual(b, i, n, "0-1") || igual(b, i, n, "1/2-1/2") || igual(b, i, n, "*")) {
+                terminar();
+                return;
+            }
+            /* "12." ou "12..." antes do lance, às vezes colado nele ("12.e4"); "0-0" é roque */
+            if (Character.isDigit(b.get(i)) && !(n >= 3 && b.get(i) == '0' && b.get(i + 1) == '-')) {
+                while (i < j && Character.isDigit(b.get(i))) i++;
+                while (i < j && b.get(i) == '.') i++;
+                n = j - i;
+                if (n == 0) return;
+            }
+            if (erro != null) return;
+            if (n > TAMANHO_TOKEN) {
+                erro = "lance longo demais em " + (base + i);
+                return;
+            }
+            b.get(i, token, 0, n);
+            int lance = decodificar(n);
+            if (lance == Movimento.NENHUM) {
+                erro = "lance " + new String(token, 0, n, StandardCharsets.ISO_8859_1) + " inválido no "
+                     + (quantidade / 2 + 1) + "º lance, posição " + Fen.paraTexto(tabuleiro);
+                return;
+            }
+            tabuleiro.jogar(lance);
+            if (quantidade == jogados.length) jogados = Arrays.copyOf(jogados, 2 * quantidade);
+            jogados[quantidade++] = lance;
+        }
+
+        private static boolean igual(ByteBuffer b, int i, int n, String texto) {
+            if (n != texto.length()) return false;
+            for (int k = 0; k < n; k++)
+                if (b.get(i + k) != texto.charAt(k)) return false;
+            return true;
+        }
+
+        /* SAN em token[0, n) para o lance legal correspondente, ou NENHUM */
+        private int decodificar(int n) {
+            while (n > 0 && (token[n - 1] == '+' || token[n - 1] == '#' || token[n - 1] == '!' || token[n - 1] == '?')) n--;
+            Cor vez = tabuleiro.getVez();
+            int tipo = Peca.PEAO, promocao = 0, destino, coluna = -1, linha = -1;
+
+            boolean roqueCurto = n == 3 && roque(0) && token[1] == '-' && roque(2);
+            boolean roqueLongo = n == 5 && roque(0) && token[1] == '-' && roque(2) && token[3] == '-' && roque(4);
+            if (roqueCurto || roqueLongo) {
+                tipo = Peca.REI;
+                int rei = vez == Cor.BRANCO ? 60 : 4;
+                destino = roqueCurto ? rei + 2 : rei - 2;
+            } else {
+                int a = 0;
+                int letra = n > 0 ? "NBRQK".indexOf(token[0]) : -1;
+                if (letra >= 0) {
+                    tipo = letra + Peca.CAVALO;
+                    a = 1;
+                }
+                if (n >= 2 && token[n - 2] == '=') {
+                    promocao = "NBRQ".indexOf(token[n - 1]) + Peca.CAVALO;
+                    if (promocao < Peca.CAVALO) return Movimento.NENHUM;
+                    n -= 2;
+                } else if (tipo == Peca.PEAO && n >= 3 && "NBRQ".indexOf(token[n - 1]) >= 0) {
+                    promocao = "NBRQ".indexOf(token[n - 1]) + Peca.CAVALO;     // "e8Q", sem '='
+                    n--;
+                }
+                if (n - a < 2) return Movimento.NENHUM;
+                int c = token[n - 2] - 'a', f = token[n - 1] - '1';
+                if (c < 0 || c > 7 || f < 0 || f > 7) return Movimento.NENHUM;
+                destino = Bitboard.casa(7 - f, c);
+                for (int k = a; k < n - 2; k++) {
+                    byte ch = token[k];
+                    if (ch >= 'a' && ch <= 'h') coluna = ch - 'a';
+                    else if (ch >= '1' && ch <= '8') linha = 7 - (ch - '1');
+                    else if (ch != 'x' && ch != ':' && ch != '-') return Movimento.NENHUM;
+                }
+            }
+
+            /* só as peças do tipo certo que alcançam o destino, como em Uci.aplicar */
+            long alvo = Bitboard.bit(destino);
+            long xequeadores = 0, cravadas = 0;
+            boolean calculado = false;
+            int achado = Movimento.NENHUM;
+            for (long b = tabuleiro.getBitboard(tipo, vez); b != 0; b &= b - 1) {
+                int origem = Long.numberOfTrailingZeros(b);
+                if (coluna >= 0 && Bitboard.coluna(origem) != coluna || linha >= 0 && Bitboard.linha(origem) != linha) continue;
+                if ((tabuleiro.getPeca(origem).destinos(tabuleiro) & alvo) == 0) continue;
+                if (!calculado) {
+                    xequeadores = tabuleiro.xequeadores(vez);
+                    cravadas = tabuleiro.cravadas(vez);
+                    calculado = true;
+                }
+                int lance = Movimento.criar(origem, destino);
+                if (!tabuleiro.lanceLegal(lance, xequeadores, cravadas)) continue;
+                if (achado != Movimento.NENHUM) return Movimento.NENHUM;     // ambíguo
+                achado = lance;
+            }
+            if (achado == Movimento.NENHUM) return achado;
+            boolean promove = tipo == Peca.PEAO && (Bitboard.linha(destino) == 0 || Bitboard.linha(destino) == 7);
+            if (promove != (promocao != 0)) return Movimento.NENHUM;
+            return promove ? Movimento.criar(Movimento.origem(achado), destino, promocao) : achado;
+        }
+
+        private boolean roque(int k) {
+            return token[k] == 'O' || token[k] == '0';
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("uso: java model.LeitorPgn <arquivo.pgn> [paralelo]");
+            return;
+        }
+        LeitorPgn leitor = new LeitorPgn(Paths.get(args[0]));
+        Receptor nada = (posicao, lances, quantidade, posicaoFinal) -> { };
+        long inicio = System.nanoTime();
+        if (args.length > 1 && args[1].equals("paralelo")) leitor.lerParalelo(ForkJoinPool.commonPool(), nada);
+        else leitor.ler(nada);
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        System.out.println(leitor.getPartidas() + " partidas, " + leitor.getLances() + " lances, "
+                           + leitor.getErros() + " com erro  " + ms + " ms  "
+                           + (leitor.getLances() * 1000 / ms) + " lances/s");
+        if (leitor.getPrimeiroErro() != null) System.out.println("primeiro erro: " + leitor.getPrimeiroErro());
+    }
+}
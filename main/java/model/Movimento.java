@@ -0,0 +1,70 @@
+package model;
+
+/**
+ * Lances codificados num int, sem alocar objetos.
+ *
+ * · bits 0-5   casa de origem
+ * · bits 6-11  casa de destino
+ * · bits 12-14 tipo da peça de promoção (0 = sem promoção)
+ */
+final class Movimento {
+
+    /* limite folgado do número de lances de uma posição (o máximo conhecido é 218) */
+    static final int MAX_LANCES = 256;
+
+    static final int NENHUM = 0;
+
+    private Movimento() {
+    }
+
+    static int criar(int origem, int destino) {
+        return origem | (destino << 6);
+    }
+
+    static int criar(int origem, int destino, int promocao) {
+        return origem | (destino << 6) | (promocao << 12);
+    }
+
+    static int origem(int lance) {
+        return lance & 63;
+    }
+
+    static int destino(int lance) {
+        return (lance >>> 6) & 63;
+    }
+
+    static int promocao(int lance) {
+        return (lance >>> 12) & 7;
+    }
+
+    /* notação de coordenadas: coluna a-h, fileira 8 (linha 0) a 1 (linha 7), ex.: "e2e4", "a7a8q" */
+    static String paraTexto(int lance) {
+        StringBuilder sb = new StringBuilder(5);
+        casaParaTexto(sb, origem(lance));
+        casaParaTexto(sb, destino(lance));
+        if (promocao(lance) != 0) sb.append("pnbrqk".charAt(promocao(lance)));
+        return sb.toString();
+    }
+
+    /* inverso de paraTexto; NENHUM se o texto não for um lance em notação de coordenadas */
+    static int deTexto(CharSequence texto) {
+        int n = texto.length();
+        if (n != 4 && n != 5) return NENHUM;
+        int origem = casaDeTexto(texto.charAt(0), texto.charAt(1));
+        int destino = casaDeTexto(texto.charAt(2), texto.charAt(3));
+        if (origem < 0 || destino < 0) return NENHUM;
+        if (n == 4) return criar(origem, destino);
+        int promocao = "pnbrqk".indexOf(Character.toLowerCase(texto.charAt(4)));
+        if (promocao < Peca.CAVALO || promocao > Peca.RAINHA) return NENHUM;
+        return criar(origem, destino, promocao);
+    }
+
+    private static int casaDeTexto(char coluna, char fileira) {
+        if (coluna < 'a' || coluna > 'h' || fileira < '1' || fileira > '8') return -1;
+        return Bitboard.casa('8' - fileira, coluna - 'a');
+    }
+
+    private static void casaParaTexto(StringBuilder sb, int casa) {
+        sb.append((char) ('a' + Bitboard.coluna(casa))).append((char) ('8' - Bitboard.linha(casa)));
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+/**
+ * Ordenação dos lances para a busca alfa-beta.
+ *
+ * · Ordem: lance da tabela de transposição, capturas (MVV-LVA: vítima mais valiosa,
+ *   atacante menos valioso), promoções a rainha, dois lances matadores (killers)
+ *   por ply e, por fim, lances quietos pela tabela de histórico (origem × destino,
+ *   por cor), entre eles as subpromoções sem captura. En passant conta como
+ *   captura de peão.
+ * · As notas ficam num int[] paralelo ao vetor de lances de cada ply; proximo()
+ *   faz um passo de ordenação por seleção no próprio vetor, sem alocar.
+ * · Conta quantos cortes beta acontecem e quantos deles no primeiro lance tentado.
+ */
+final class OrdenacaoLances {
+
+    private static final int NOTA_TABELA = 1 << 30;
+    private static final int NOTA_CAPTURA = 1 << 28;
+    private static final int NOTA_PROMOCAO = NOTA_CAPTURA - 1000;
+    private static final int NOTA_MATADOR_1 = 1 << 27;
+    private static final int NOTA_MATADOR_2 = NOTA_MATADOR_1 - 1;
+    private static final int MAX_HISTORICO = 1 << 26;
+
+    private final int[][] notas = new int[Busca.MAX_PLY][Movimento.MAX_LANCES];
+    private final int[][] matadores = new int[Busca.MAX_PLY][2];
+    private final int[][] historico = new int[2][64 * 64];
+
+    private long cortes;
+    private long cortesPrimeiroLance;
+
+    /* atribui uma nota a cada um dos n lances do ply */
+    void pontuar(Tabuleiro tabuleiro, int[] lances, int n, int ply, int lanceTabela) {
+        int[] nota = notas[ply];
+        int[] hist = historico[tabuleiro.getVez().ordinal()];
+        for (int i = 0; i < n; i++) {
+            int lance = lances[i];
+            int origem = Movimento.origem(lance), destino = Movimento.destino(lance);
+            Peca vitima = tabuleiro.getPeca(destino);
+            int tipoVitima = vitima != null ? vitima.getTipo()
+                           : tabuleiro.capturaEnPassant(lance) ? Peca.PEAO : -1;
+
+            if (lance == lanceTabela) nota[i] = NOTA_TABELA;
+            else if (tipoVitima >= 0)
+                nota[i] = NOTA_CAPTURA + Avaliacao.VALOR_MEIO[tipoVitima] * 8
+                          - tabuleiro.getPeca(origem).getTipo();
+            else if (Movimento.promocao(lance) == Peca.RAINHA) nota[i] = NOTA_PROMOCAO;
+            else if (lance == matadores[ply][0]) nota[i] = NOTA_MATADOR_1;
+            else if (lance == matadores[ply][1]) nota[i] = NOTA_MATADOR_2;
+            else nota[i] = hist[(origem << 6) | destino];
+        }
+    }
+
+    /* leva o lance de maior nota entre i e n-1 para a posição i e o devolve */
+    int proximo(int[] lances, int n, int i, int ply) {
+        int[] nota = notas[ply];
+        int melhor = i;
+        for (int j = i + 1; j < n; j++)
+            if (nota[j] > nota[melhor]) melhor = j;
+        if (melhor != i) {
+            int l = lances[i]; lances[i] = lances[melhor]; lances[melhor] = l;
+            int s = nota[i]; nota[i] = nota[melhor]; nota[melhor] = s;
+        }
+        return lances[i];
+    }
+
+    /**
+     * Registra um corte beta causado por lance, o (indice+1)-ésimo lance tentado no ply.
+     * Lances quietos atualizam matadores e histórico.
+     */
+    void registrarCorte(Tabuleiro tabuleiro, int lance, int indice, int ply, int profundidade) {
+        cortes++;
+        if (indice == 0) cortesPrimeiroLance++;
+        if (tabuleiro.getPeca(Movimento.destino(lance)) != null || Movimento.promocao(lance) != 0) return;
+
+        if (matadores[ply][0] != lance) {
+            matadores[ply][1] = matadores[ply][0];
+            matadores[ply][0] = lance;
+        }
+        int[] hist = historico[tabuleiro.getVez().ordinal()];
+        int i = (Movimento.origem(lance) << 6) | Movimento.destino(lance);
+        hist[i] += profundidade * profundidade;
+        if (hist[i] > MAX_HISTORICO)
+            for (int[] h : historico)
+                for (int j = 0; j < h.length; j++) h[j] >>= 1;
+    }
+
+    /* esquece matadores e envelhece o histórico; zera as estatísticas */
+    void novaBusca() {
+        for (int[] m : matadores) m[0] = m[1] = Movimento.NENHUM;
+        for (int[] h : historico)
+            for (int j = 0; j < h.length; j++) h[j] >>= 2;
+        cortes = cortesPrimeiroLance = 0;
+    }
+
+    long getCortes() {
+        return cortes;
+    }
+
+    /* fração dos cortes beta causados pelo primeiro lance tentado (0 a 1) */
+    double getTaxaCortePrimeiroLance() {
+        return cortes == 0 ? 0.0 : (double) cortesPrimeiroLance / cortes;
+    }
+}
@@ -7,25 +7,33 @@ class Peao extends Peca {
     }
 
     @Override
-    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
-    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+    int getTipo() {
+        return PEAO;
+    }
+
+    @Override
+    long destinos(Tabuleiro tabuleiro) {
+        return destinos(tabuleiro, cor, Bitboard.casa(linha, coluna));
+    }
 
-        int direcao = (cor == Cor.BRANCO) ? -1 : 1;
-        boolean casaLivre = tabuleiro.getPeca(l, c) == null;
+    /* regra do peão sem depender do objeto (usada também pelo gerador de lances) */
+    static long destinos(Tabuleiro tabuleiro, Cor cor, int casa) {
+        long vazias = ~tabuleiro.getTodas();
+        int linha = Bitboard.linha(casa);
 
-        if (c == coluna && casaLivre) {
-            if (l == linha + direcao) return true;
-            if ((linha == 1 && cor == Cor.PRETO || linha == 6 && cor == Cor.BRANCO)
-                && l == linha + 2 * direcao && tabuleiro.getPeca(linha + direcao, c) == null) {
-                return true;
-            }
-        }
+        long avanco = Ataques.peaoAvanco(cor, casa) & vazias;
+        boolean linhaInicial = linha == 1 && cor == Cor.PRETO || linha == 6 && cor == Cor.BRANCO;
+        if (avanco != 0 && linhaInicial)
+            avanco |= Ataques.peaoAvanco(cor, Long.numberOfTrailingZeros(avanco)) & vazias;
 
-        if (Math.abs(c - coluna) == 1 && l == linha + direcao) {
-            Peca oponente = tabuleiro.getPeca(l, c);
-            return oponente != null && oponente.getCor() != cor;
-        }
+        long alvos = tabuleiro.getOcupacao(cor.oposta());
+        if (cor == tabuleiro.getVez()) alvos |= tabuleiro.getEnPassant();
+        return avanco | (Ataques.peao(cor, casa) & alvos);
+    }
 
-        return false;
+    @Override
+    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
+    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+        return (destinos(tabuleiro) & Bitboard.bit(Bitboard.casa(l, c))) != 0;
     }
 }
@@ -1,8 +1,31 @@
 package model;
 
+/**
+ * Peça vista de fora do tabuleiro: tipo, cor e casa, imutável.
+ *
+ * · O Tabuleiro não guarda objetos Peca: suas casas são bytes (índice + 1).
+ *   getPeca devolve a instância compartilhada daquele (índice, casa), criada
+ *   uma vez por JVM (em/criar); nenhum tabuleiro nem lance aloca peças.
+ * · Mover uma peça não a altera: a peça que passa a ocupar o destino é outra
+ *   instância (a daquela casa), obtida de novo com getPeca.
+ * · As regras de movimento são as de Ataques e Peao.destinos, sem estado.
+ */
 abstract class Peca {
-    protected int linha, coluna;
-    protected Cor cor;
+    /* tipos de peça (índice dos bitboards = tipo + 6 * cor) */
+    static final int PEAO = 0, CAVALO = 1, BISPO = 2, TORRE = 3, RAINHA = 4, REI = 5;
+
+    protected final int linha, coluna;
+    protected final Cor cor;
+
+    /* uma instância por (índice, casa), compartilhada por todos os tabuleiros */
+    private static final Peca[] FIXAS = new Peca[12 * 64];
+
+    static {
+        for (int indice = 0; indice < 12; indice++)
+            for (int casa = 0; casa < 64; casa++)
+                FIXAS[(indice << 6) | casa] = nova(indice % 6, indice < 6 ? Cor.BRANCO : Cor.PRETO,
+                                                   Bitboard.linha(casa), Bitboard.coluna(casa));
+    }
 
     Peca(Cor cor, int linha, int coluna) {
         this.cor = cor;
@@ -10,6 +33,28 @@ abstract class Peca {
         this.coluna = coluna;
     }
 
+    /* peça compartilhada de índice (tipo + 6 * cor) na casa */
+    static Peca em(int indice, int casa) {
+        return FIXAS[(indice << 6) | casa];
+    }
+
+    static Peca criar(int tipo, Cor cor, int linha, int coluna) {
+        if (tipo < PEAO || tipo > REI) throw new IllegalArgumentException("tipo de peça inválido: " + tipo);
+        return em(tipo + 6 * cor.ordinal(), Bitboard.casa(linha, coluna));
+    }
+
+    private static Peca nova(int tipo, Cor cor, int linha, int coluna) {
+        switch (tipo) {
+            case PEAO:   return new Peao(cor, linha, coluna);
+            case CAVALO: return new Cavalo(cor, linha, coluna);
+            case BISPO:  return new Bispo(cor, linha, coluna);
+            case TORRE:  return new Torre(cor, linha, coluna);
+            case RAINHA: return new Rainha(cor, linha, coluna);
+            case REI:    return new Rei(cor, linha, coluna);
+            default:     throw new IllegalArgumentException("tipo de peça inválido: " + tipo);
+        }
+    }
+
     Cor getCor() {
         return cor;
     }
@@ -22,10 +67,14 @@ abstract class Peca {
         return coluna;
     }
 
-    void setPosicao(int linha, int coluna) {
-        this.linha = linha;
-        this.coluna = coluna;
+    int getIndice() {
+        return getTipo() + 6 * cor.ordinal();
     }
 
+    abstract int getTipo();
+
+    /* bitboard com todas as casas para onde a peça pode ir (sem checar xeque) */
+    abstract long destinos(Tabuleiro tabuleiro);
+
     abstract boolean podeMoverPara(Tabuleiro tabuleiro, int linhaDestino, int colunaDestino);
 }
@@ -0,0 +1,138 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Contagem de nós folha (perft) a partir de uma posição.
+ *
+ * · Serve de oráculo de corretude do gerador de lances (comparando com os
+ *   números publicados para a posição inicial) e de medida de velocidade.
+ * · Só conta lances legais: o lance é feito e descartado se deixar o próprio rei em xeque.
+ * · O modo paralelo divide as subárvores em tarefas de um ForkJoinPool,
+ *   cada uma com a sua própria cópia do tabuleiro.
+ *
+ * Uso: java model.Perft <profundidade> [dividir] [paralelo]
+ */
+final class Perft {
+
+    /* profundidade restante a partir da qual uma tarefa paralela ainda se divide */
+    private static final int LIMIAR_DIVISAO = 4;
+
+    private final Tabuleiro tabuleiro;
+    private final int[][] lances;     // um buffer por nível, reaproveitado
+
+    Perft(Tabuleiro tabuleiro, int profundidadeMaxima) {
+        this.tabuleiro = tabuleiro;
+        this.lances = new int[profundidadeMaxima + 1][Movimento.MAX_LANCES];
+    }
+
+    long contar(int profundidade) {
+        if (profundidade == 0) return 1;
+        int[] buffer = lances[profundidade];
+        Cor cor = tabuleiro.getVez();
+        int n = tabuleiro.gerarMovimentos(cor, buffer);
+        long nos = 0;
+        for (int i = 0; i < n; i++) {
+            tabuleiro.fazerLance(buffer[i]);
+            if (!tabuleiro.emXeque(cor)) nos += contar(profundidade - 1);
+            tabuleiro.desfazerLance();
+        }
+        return nos;
+    }
+
+    /**
+     * Conta os nós por lance da raiz.
+     * Escreve em raiz os lances legais e em nos a contagem de cada um.
+     *
+     * @return quantidade de lances legais da raiz
+     */
+    int dividir(int profundidade, int[] raiz, long[] nos) {
+        Cor cor = tabuleiro.getVez();
+        int[] buffer = lances[profundidade];
+        int n = tabuleiro.gerarMovimentos(cor, buffer);
+        int legais = 0;
+        for (int i = 0; i < n; i++) {
+            tabuleiro.fazerLance(buffer[i]);
+            if (!tabuleiro.emXeque(cor)) {
+                raiz[legais] = buffer[i];
+                nos[legais++] = contar(profundidade - 1);
+            }
+            tabuleiro.desfazerLance();
+        }
+        return legais;
+    }
+
+    static long contarParalelo(Tabuleiro tabuleiro, int profundidade, ForkJoinPool pool) {
+        if (profundidade == 0) return 1;
+        return pool.invoke(new Tarefa(tabuleiro, Movimento.NENHUM, profundidade));
+    }
+
+    /* subárvore de um lance (ou da própria posição, se lance == NENHUM) sobre uma cópia do tabuleiro */
+    private static final class Tarefa extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final Tabuleiro base;
+        private final int lance;
+        private final int profundidade;
+
+        Tarefa(Tabuleiro base, int lance, int profundidade) {
+            this.base = base;
+            this.lance = lance;
+            this.profundidade = profundidade;
+        }
+
+        @Override
+        protected Long compute() {
+            Tabuleiro tabuleiro = new Tabuleiro(base);
+            int restante = profundidade;
+            if (lance != Movimento.NENHUM) {
+                Cor cor = tabuleiro.getVez();
+                tabuleiro.fazerLance(lance);
+                if (tabuleiro.emXeque(cor)) return 0L;
+                restante--;
+            }
+            if (restante < LIMIAR_DIVISAO) return new Perft(tabuleiro, restante).contar(restante);
+
+            int[] buffer = new int[Movimento.MAX_LANCES];
+            int n = tabuleiro.gerarMovimentos(tabuleiro.getVez(), buffer);
+            List<Tarefa> filhas = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) filhas.add(new Tarefa(tabuleiro, buffer[i], restante));
+            long nos = 0;
+            for (Tarefa t : invokeAll(filhas)) nos += t.join();
+            return nos;
+        }
+    }
+
+    public static void main(String[] args) {
+        int profundidade = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        boolean dividir = false, paralelo = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("dividir")) dividir = true;
+            if (args[i].equals("paralelo")) paralelo = true;
+        }
+
+        Tabuleiro tabuleiro = new Tabuleiro();
+        long inicio = System.nanoTime();
+        long nos;
+        if (paralelo) {
+            nos = contarParalelo(tabuleiro, profundidade, ForkJoinPool.commonPool());
+        } else if (dividir) {
+            int[] raiz = new int[Movimento.MAX_LANCES];
+            long[] contagens = new long[Movimento.MAX_LANCES];
+            int n = new Perft(tabuleiro, profundidade).dividir(profundidade, raiz, contagens);
+            nos = 0;
+            for (int i = 0; i < n; i++) {
+                System.out.println(Movimento.paraTexto(raiz[i]) + ": " + contagens[i]);
+                nos += contagens[i];
+            }
+        } else {
+            nos = new Perft(tabuleiro, profundidade).contar(profundidade);
+        }
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        System.out.println("perft(" + profundidade + ") = " + nos + "  " + ms + " ms  "
+                           + (nos * 1000 / ms) + " nós/s");
+    }
+}
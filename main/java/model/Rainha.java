@@ -7,24 +7,19 @@ class Rainha extends Peca {
     }
 
     @Override
-    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
-    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
-        
-        int dx = Math.abs(l - linha);
-        int dy = Math.abs(c - coluna);
-        if (dx != 0 && dy != 0 && dx != dy) return false;
-
-        int deltaL = Integer.compare(l, linha);
-        int deltaC = Integer.compare(c, coluna);
-        int i = linha + deltaL, j = coluna + deltaC;
+    int getTipo() {
+        return RAINHA;
+    }
 
-        while (i != l || j != c) {
-            if (tabuleiro.getPeca(i, j) != null) return false;
-            i += deltaL;
-            j += deltaC;
-        }
+    @Override
+    long destinos(Tabuleiro tabuleiro) {
+        return Ataques.rainha(Bitboard.casa(linha, coluna), tabuleiro.getTodas())
+             & ~tabuleiro.getOcupacao(cor);
+    }
 
-        Peca destino = tabuleiro.getPeca(l, c);
-        return destino == null || destino.getCor() != cor;
+    @Override
+    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
+    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+        return (destinos(tabuleiro) & Bitboard.bit(Bitboard.casa(l, c))) != 0;
     }
 }
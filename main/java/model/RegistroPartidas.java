@@ -0,0 +1,146 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Registro de partidas simultâneas, indexadas por id.
+ *
+ * · A tabela é um ConcurrentHashMap: consultas não usam trava e as escritas
+ *   travam apenas o compartimento da chave, sem disputa entre partidas distintas.
+ * · O JogoXadrez nunca sai do registro: cada operação é passada a executar(),
+ *   que a roda com a trava da sessão. Operações sobre a mesma partida ficam em
+ *   série; partidas distintas não disputam trava.
+ * · Partidas ociosas podem ser hibernadas: o JogoXadrez é descartado e fica só
+ *   o retrato compacto do tabuleiro (15 longs mais as chaves das posições desde
+ *   o último lance irreversível, para a tripla repetição). Na operação seguinte
+ *   a partida é reconstruída a partir dele, com o mesmo número de lance. Partidas
+ *   com operação em andamento nunca são hibernadas.
+ * · Partidas ociosas há mais tempo podem ser expiradas (removidas); como na
+ *   hibernação, as que têm operação em andamento são puladas.
+ * · O número de partidas é limitado por maxPartidas (verificado em criar,
+ *   sem trava; sob criação concorrente o limite pode ser excedido por poucas unidades).
+ */
+public final class RegistroPartidas {
+
+    private final ConcurrentHashMap<Long, Sessao> sessoes = new ConcurrentHashMap<>();
+    private final AtomicLong proximoId = new AtomicLong(1);
+    private final int maxPartidas;
+
+    public RegistroPartidas(int maxPartidas) {
+        if (maxPartidas <= 0) throw new IllegalArgumentException("maxPartidas deve ser positivo");
+        this.maxPartidas = maxPartidas;
+    }
+
+    /**
+     * Cria uma partida nova na posição inicial.
+     *
+     * @return id da partida
+     * @throws IllegalStateException se o limite de partidas foi atingido
+     */
+    public long criar() {
+        if (sessoes.size() >= maxPartidas)
+            throw new IllegalStateException("limite de " + maxPartidas + " partidas atingido");
+        long id = proximoId.getAndIncrement();
+        sessoes.put(id, new Sessao(new JogoXadrez()));
+        return id;
+    }
+
+    /**
+     * Executa operacao sobre a partida do id (reconstruída se estava hibernada),
+     * com a sessão travada. A referência ao JogoXadrez só vale durante a operação.
+     *
+     * @return o resultado da operação, ou null se o id não existe (ou a partida acabou de expirar)
+     */
+    public <T> T executar(long id, Function<JogoXadrez, T> operacao) {
+        Sessao s = sessoes.get(id);
+        return s == null ? null : s.executar(operacao);
+    }
+
+    public boolean remover(long id) {
+        return sessoes.remove(id) != null;
+    }
+
+    public int tamanho() {
+        return sessoes.size();
+    }
+
+    /**
+     * Hiberna as partidas sem acesso há pelo menos ociosidadeMs. Sessões com
+     * operação em andamento são puladas, sem esperar por elas.
+     *
+     * @return quantidade de partidas hibernadas
+     */
+    public int hibernarOciosas(long ociosidadeMs) {
+        long limite = System.currentTimeMillis() - ociosidadeMs;
+        int n = 0;
+        for (Sessao s : sessoes.values())
+            if (s.hibernar(limite)) n++;
+        return n;
+    }
+
+    /* remove as partidas sem acesso há pelo menos ociosidadeMs, pulando as em uso; devolve quantas */
+    public int expirarOciosas(long ociosidadeMs) {
+        long limite = System.currentTimeMillis() - ociosidadeMs;
+        int antes = sessoes.size();
+        sessoes.values().removeIf(s -> s.expirar(limite));
+        return antes - sessoes.size();
+    }
+
+    /* partida ativa (jogo != null) ou hibernada (retrato != null); jogo e retrato só com a trava */
+    private static final class Sessao {
+        private final ReentrantLock trava = new ReentrantLock();
+        private JogoXadrez jogo;
+        private long[] retrato;
+        private boolean expirada;
+        private volatile long ultimoAcesso;
+
+        Sessao(JogoXadrez jogo) {
+            this.jogo = jogo;
+            this.ultimoAcesso = System.currentTimeMillis();
+        }
+
+        <T> T executar(Function<JogoXadrez, T> operacao) {
+            trava.lock();
+            try {
+                if (expirada) return null;                  // removida enquanto esperava a trava
+                ultimoAcesso = System.currentTimeMillis();
+                if (jogo == null) {
+                    jogo = new JogoXadrez(retrato);
+                    retrato = null;
+                }
+                return operacao.apply(jogo);
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /* tryLock: sessão em uso por outra thread é pulada; getHoldCount: ou pela própria (operação que hiberna) */
+        boolean hibernar(long limite) {
+            if (!trava.tryLock()) return false;
+            try {
+                if (jogo == null || ultimoAcesso > limite || trava.getHoldCount() > 1) return false;
+                retrato = jogo.retrato();
+                jogo = null;
+                return true;
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        /* como hibernar: pula a sessão em uso e confere a ociosidade já com a trava */
+        boolean expirar(long limite) {
+            if (!trava.tryLock()) return false;
+            try {
+                if (ultimoAcesso > limite || trava.getHoldCount() > 1) return false;
+                expirada = true;
+                return true;
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+}
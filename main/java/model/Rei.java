@@ -7,14 +7,18 @@ class Rei extends Peca {
     }
 
     @Override
-    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
-    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+    int getTipo() {
+        return REI;
+    }
 
-        int dx = Math.abs(linha - l);
-        int dy = Math.abs(coluna - c);
-        if (dx > 1 || dy > 1) return false;
+    @Override
+    long destinos(Tabuleiro tabuleiro) {
+        return (Ataques.rei(Bitboard.casa(linha, coluna)) & ~tabuleiro.getOcupacao(cor)) | tabuleiro.destinosRoque(cor);
+    }
 
-        Peca destino = tabuleiro.getPeca(l, c);
-        return destino == null || destino.getCor() != cor;
+    @Override
+    boolean podeMoverPara(Tabuleiro tabuleiro, int l, int c) {
+    	if (l < 0 || l > 7 || c < 0 || c > 7) return false; 
+        return (destinos(tabuleiro) & Bitboard.bit(Bitboard.casa(l, c))) != 0;
     }
 }
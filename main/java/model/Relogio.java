@@ -0,0 +1,149 @@
+package model;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relógio de uma busca: prazo suave e prazo duro.
+ *
+ * · Prazo suave: entre iterações, a busca só começa outra se ainda houver
+ *   tempo para terminá-la. É ajustado pela estabilidade (ver continuar()).
+ * · Prazo duro: um temporizador marca esgotado() nesse instante e a busca
+ *   aborta a iteração em curso. A busca só lê esse volatile a cada poucos
+ *   nós, sem chamar System.nanoTime no caminho quente.
+ * · Com relógio de partida (controle()), os prazos vêm do tempo restante, do
+ *   incremento e dos lances até o controle, descontada uma margem de
+ *   comunicação com a interface.
+ */
+final class Relogio {
+
+    /* reservado para a comunicação com a interface, nunca gasto na busca */
+    static final long MARGEM_MS = 30;
+
+    /* lances até o controle de tempo, quando não informado */
+    static final int LANCES_PADRAO = 30;
+
+    /* o prazo duro é no máximo este múltiplo do suave */
+    private static final int MULTIPLO_DURO = 4;
+
+    /* ajustes do prazo suave: melhor lance mudou, estável há ESTAVEL iterações, valor caiu QUEDA */
+    private static final double FATOR_INSTAVEL = 1.6, FATOR_ESTAVEL = 0.6, FATOR_QUEDA = 1.4;
+    private static final int ESTAVEL = 3;
+    private static final int QUEDA = 30;
+
+    private static final ScheduledExecutorService TEMPORIZADOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "relogio-busca");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long suaveMs;
+    private final long duroMs;              // < 0: sem limite
+    private final boolean ajustavel;
+
+    private long inicio;
+    private volatile boolean esgotado;
+    private ScheduledFuture<?> alarme;
+
+    private int lanceAnterior;
+    private int valorAnterior;
+    private int estaveis;
+    private double fator = 1.0;
+
+    private Relogio(long suaveMs, long duroMs, boolean ajustavel) {
+        this.suaveMs = suaveMs;
+        this.duroMs = duroMs;
+        this.ajustavel = ajustavel;
+    }
+
+    /* orçamento fixo (movetime): usa todo o tempo, sem heurísticas */
+    static Relogio fixo(long ms) {
+        long m = Math.max(0, ms);
+        return new Relogio(m, m, false);
+    }
+
+    /* até ser parado (go infinite, ou busca por profundidade) */
+    static Relogio semLimite() {
+        return new Relogio(-1, -1, false);
+    }
+
+    /**
+     * Relógio de partida.
+     *
+     * @param restanteMs        tempo restante de quem joga
+     * @param incrementoMs      incremento por lance
+     * @param lancesAteControle lances até o próximo controle (0 = morte súbita)
+     */
+    static Relogio controle(long restanteMs, long incrementoMs, int lancesAteControle) {
+        long util = Math.max(1, restanteMs - MARGEM_MS);
+        int lances = lancesAteControle > 0 ? lancesAteControle : LANCES_PADRAO;
+        long suave = Math.max(1, Math.min(util / lances + incrementoMs * 3 / 4, util / 2));
+        long duro = Math.min(suave * MULTIPLO_DURO, util * 3 / 4);
+        return new Relogio(suave, Math.max(suave, duro), true);
+    }
+
+    long getSuaveMs() {
+        return suaveMs;
+    }
+
+    long getDuroMs() {
+        return duroMs;
+    }
+
+    /* começa a contar; arma o prazo duro */
+    void iniciar() {
+        inicio = System.nanoTime();
+        esgotado = false;
+        lanceAnterior = Movimento.NENHUM;
+        valorAnterior = 0;
+        estaveis = 0;
+        fator = 1.0;
+        if (duroMs >= 0) alarme = TEMPORIZADOR.schedule(() -> { esgotado = true; }, duroMs, TimeUnit.MILLISECONDS);
+    }
+
+    /* desarma o prazo duro */
+    void encerrar() {
+        if (alarme != null) alarme.cancel(false);
+        alarme = null;
+    }
+
+    boolean esgotado() {
+        return esgotado;
+    }
+
+    long getDecorridoMs() {
+        return (System.nanoTime() - inicio) / 1_000_000;
+    }
+
+    /* prazo suave já ajustado pela estabilidade */
+    long getLimiteMs() {
+        return duroMs < 0 ? -1 : Math.min(duroMs, (long) (suaveMs * fator));
+    }
+
+    /**
+     * Chamado ao fim de cada iteração completa com o melhor lance e o valor dela.
+     * Melhor lance trocado ou valor em queda estendem o prazo suave; o mesmo lance
+     * por várias iterações o encurta.
+     *
+     * @return false se não vale a pena começar outra iteração
+     */
+    boolean continuar(int lance, int valor) {
+        if (esgotado) return false;
+        if (!ajustavel) return true;
+
+        boolean primeira = lanceAnterior == Movimento.NENHUM;
+        estaveis = lance == lanceAnterior ? estaveis + 1 : 0;
+        if (primeira) fator = 1.0;
+        else if (estaveis == 0) fator = FATOR_INSTAVEL;
+        else if (estaveis >= ESTAVEL) fator = FATOR_ESTAVEL;
+        else fator = 1.0;
+        if (!primeira && valor < valorAnterior - QUEDA) fator *= FATOR_QUEDA;
+        lanceAnterior = lance;
+        valorAnterior = valor;
+
+        /* a próxima iteração custa mais que todas as anteriores juntas */
+        return getDecorridoMs() * 2 < getLimiteMs();
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Tabela de transposição fora do heap, compartilhada entre threads, sem travas.
+ *
+ * · A memória é alocada em ByteBuffers diretos (blocos de até 1 GB), então uma
+ *   tabela de vários GB não é percorrida pelo coletor de lixo.
+ * · Cada entrada ocupa dois longs: (chave XOR dado, dado), lidos e escritos um a um
+ *   de forma atômica. Uma leitura só é aceita se chave XOR primeiro == segundo;
+ *   uma entrada misturada por escritas simultâneas falha nessa verificação e é
+ *   tratada como ausente.
+ * · dado empacota lance (20 bits), valor (20 bits com sinal), profundidade (8 bits),
+ *   tipo de limite (2 bits) e geração (6 bits). dado == 0 significa "nada encontrado".
+ * · Cada compartimento tem duas entradas: a primeira guarda o resultado mais profundo
+ *   (ou o mais recente, se for de uma busca anterior); a segunda é sempre substituída.
+ */
+final class TabelaTransposicao {
+
+    static final int SUPERIOR = 1, INFERIOR = 2, EXATO = 3;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int BYTES_COMPARTIMENTO = 32;
+    private static final int BITS_POR_BLOCO = 25;                 // 2^25 compartimentos = 1 GB
+    private static final long MEGABYTE = 1L << 20;
+
+    private final ByteBuffer[] blocos;
+    private final long mascara;
+    private int geracao;
+
+    /* megabytes é arredondado para baixo até uma potência de dois (mínimo 1) */
+    TabelaTransposicao(long megabytes) {
+        long compartimentos = Long.highestOneBit(Math.max(1, megabytes) * MEGABYTE / BYTES_COMPARTIMENTO);
+        mascara = compartimentos - 1;
+
+        long porBloco = Math.min(compartimentos, 1L << BITS_POR_BLOCO);
+        blocos = new ByteBuffer[(int) (compartimentos / porBloco)];
+        for (int i = 0; i < blocos.length; i++)
+            blocos[i] = ByteBuffer.allocateDirect((int) (porBloco * BYTES_COMPARTIMENTO)).order(ByteOrder.nativeOrder());
+    }
+
+    long getMegabytes() {
+        return (mascara + 1) * BYTES_COMPARTIMENTO / MEGABYTE;
+    }
+
+    /* marca o início de uma nova busca: entradas antigas passam a ser substituíveis */
+    void novaBusca() {
+        geracao = (geracao + 1) & 63;
+    }
+
+    long sondar(long chave) {
+        long compartimento = chave & mascara;
+        ByteBuffer bloco = blocos[(int) (compartimento >>> BITS_POR_BLOCO)];
+        int base = (int) (compartimento & ((1L << BITS_POR_BLOCO) - 1)) * BYTES_COMPARTIMENTO;
+
+        for (int e = base; e < base + BYTES_COMPARTIMENTO; e += 16) {
+            long dado = (long) LONGS.getOpaque(bloco, e + 8);
+            if (dado != 0 && ((long) LONGS.getOpaque(bloco, e) ^ chave) == dado) return dado;
+        }
+        return 0L;
+    }
+
+    void guardar(long chave, int profundidade, int limite, int valor, int lance) {
+        long compartimento = chave & mascara;
+        ByteBuffer bloco = blocos[(int) (compartimento >>> BITS_POR_BLOCO)];
+        int base = (int) (compartimento & ((1L << BITS_POR_BLOCO) - 1)) * BYTES_COMPARTIMENTO;
+
+        long antigo = (long) LONGS.getOpaque(bloco, base + 8);
+        boolean mesmaChave = antigo != 0 && ((long) LONGS.getOpaque(bloco, base) ^ chave) == antigo;
+        int e = mesmaChave || antigo == 0 || geracao(antigo) != geracao || profundidade >= profundidade(antigo)
+              ? base : base + 16;
+
+        long dado = empacotar(profundidade, limite, valor, lance) | ((long) geracao << 50);
+        LONGS.setOpaque(bloco, e, chave ^ dado);
+        LONGS.setOpaque(bloco, e + 8, dado);
+    }
+
+    void limpar() {
+        for (ByteBuffer bloco : blocos)
+            for (int i = 0; i < bloco.capacity(); i += 8) bloco.putLong(i, 0L);
+        geracao = 0;
+    }
+
+    static long empacotar(int profundidade, int limite, int valor, int lance) {
+        return (lance & 0xFFFFFL)
+             | ((valor & 0xFFFFFL) << 20)
+             | ((long) (profundidade & 0xFF) << 40)
+             | ((long) limite << 48);
+    }
+
+    static int lance(long dado) {
+        return (int) (dado & 0xFFFFF);
+    }
+
+    static int valor(long dado) {
+        return (int) (dado << 24 >> 44);        // estende o sinal dos bits 20-39
+    }
+
+    static int profundidade(long dado) {
+        return (int) (dado >>> 40) & 0xFF;
+    }
+
+    static int limite(long dado) {
+        return (int) (dado >>> 48) & 3;
+    }
+
+    private static int geracao(long dado) {
+        return (int) (dado >>> 50) & 63;
+    }
+}
@@ -1,53 +1,660 @@
 package model;
 
+/**
+ * Tabuleiro em bitboards.
+ *
+ * · Doze bitboards (um por tipo e cor, índice = tipo + 6 * cor) guardam a posição.
+ * · As máscaras de ocupação por cor e total são mantidas junto a cada alteração.
+ * · O hash de Zobrist (chave) é atualizado de forma incremental em
+ *   colocar/remover/mudarEstado; nunca é recalculado do zero.
+ * · Direitos de roque, coluna de en passant, lado a jogar e meios-lances vivem
+ *   num único int (estado); guardar e restaurar a posição para um lance
+ *   especulativo é copiar esse int.
+ * · As somas da avaliação (meio-jogo, final) e a fase da partida também são
+ *   mantidas em colocar/remover (ver Avaliacao).
+ * · O vetor casas (64 bytes, casa = linha * 8 + coluna) guarda o índice da peça
+ *   + 1 (0 = vazia). getPeca devolve a peça compartilhada daquela casa (Peca.em);
+ *   o tabuleiro não guarda nem aloca objetos Peca, nem ao promover.
+ */
 class Tabuleiro {
-    private Peca[][] casas;
+    /* linhas 0 e 7: casas de promoção */
+    private static final long ULTIMAS_LINHAS = 0xFF000000000000FFL;
+
+    /* profundidade máxima de lances feitos com fazerLance e ainda não desfeitos */
+    static final int MAX_DESFAZER = 256;
+
+    /* posições anteriores guardadas para repetição: o anel começa pequeno e dobra
+       conforme os meios-lances até o máximo (potências de dois, acima dos 100 da regra) */
+    private static final int HISTORICO_INICIAL = 16;
+    private static final int TAMANHO_HISTORICO = 256;
+
+    /* posição em retrato() da primeira chave do histórico */
+    private static final int INICIO_CHAVES_RETRATO = 15;
+
+    /* estado: bits 0-3 direitos de roque, 4-7 coluna de en passant + 1 (0 = nenhuma), 8 pretas jogam, 9+ meios-lances */
+    static final int ROQUE_BRANCO_CURTO = 1, ROQUE_BRANCO_LONGO = 2, ROQUE_PRETO_CURTO = 4, ROQUE_PRETO_LONGO = 8;
+    static final int TODOS_ROQUES = 15;
+    private static final int DESLOCAMENTO_EN_PASSANT = 4, MASCARA_EN_PASSANT = 0xF0;
+    private static final int PRETAS_JOGAM = 1 << 8;
+    private static final int DESLOCAMENTO_MEIO_LANCES = 9;
+
+    /* tipos da primeira fileira, coluna a até h */
+    private static final int[] FILA_INICIAL = {
+        Peca.TORRE, Peca.CAVALO, Peca.BISPO, Peca.RAINHA, Peca.REI, Peca.BISPO, Peca.CAVALO, Peca.TORRE };
+
+    /* casa inicial do rei por cor */
+    private static final int[] CASA_REI = { 60, 4 };
+
+    /* direitos perdidos quando uma peça sai de (ou chega a) cada casa: reis e torres iniciais */
+    private static final int[] PERDE_ROQUE = new int[64];
+
+    static {
+        PERDE_ROQUE[63] = ROQUE_BRANCO_CURTO;
+        PERDE_ROQUE[56] = ROQUE_BRANCO_LONGO;
+        PERDE_ROQUE[60] = ROQUE_BRANCO_CURTO | ROQUE_BRANCO_LONGO;
+        PERDE_ROQUE[7] = ROQUE_PRETO_CURTO;
+        PERDE_ROQUE[0] = ROQUE_PRETO_LONGO;
+        PERDE_ROQUE[4] = ROQUE_PRETO_CURTO | ROQUE_PRETO_LONGO;
+    }
+
+    private final byte[] casas = new byte[64];
+    private final long[] bitboards = new long[12];
+    private final long[] ocupacao = new long[2];
+    private long todas;
+    private long chave;
+    private int estado;
+    private int meioJogo, finalJogo, fase;
+
+    /* chaves das posições anteriores (anel indexado por plies) */
+    private long[] historico = new long[HISTORICO_INICIAL];
+    private int plies;
+
+    /* plies jogados antes da posição de partida (número do lance da FEN) */
+    private int pliesIniciais;
+
+    /* pilha de desfazer, alocada no primeiro fazerLance (só a busca e o perft a usam): um registro por lance feito */
+    private int[] pilhaLances;
+    private byte[] pilhaCapturadas;   // como em casas: índice + 1, 0 = nenhuma
+    private int[] pilhaEstados;
+    private int topo;
 
     Tabuleiro() {
-        casas = new Peca[8][8];
         inicializar();
     }
 
+    /* reconstrói a posição guardada por retrato(), com o histórico de repetição e a contagem de lances */
+    Tabuleiro(long[] retrato) {
+        for (int indice = 0; indice < 12; indice++)
+            for (long b = retrato[indice]; b != 0; b &= b - 1) {
+                int casa = Long.numberOfTrailingZeros(b);
+                colocar(indice, casa);
+            }
+        mudarEstado((int) retrato[12]);
+        plies = (int) retrato[13];
+        pliesIniciais = (int) retrato[14];
+        int chaves = retrato.length - INICIO_CHAVES_RETRATO;
+        while (historico.length <= chaves && historico.length < TAMANHO_HISTORICO)
+            historico = new long[historico.length * 2];
+        for (int i = 0; i < chaves; i++)
+            historico[(plies - chaves + i) & (historico.length - 1)] = retrato[INICIO_CHAVES_RETRATO + i];
+    }
+
+    /* cópia independente com o histórico de repetição, sem a pilha de desfazer */
+    Tabuleiro(Tabuleiro outro) {
+        System.arraycopy(outro.casas, 0, casas, 0, 64);
+        System.arraycopy(outro.bitboards, 0, bitboards, 0, 12);
+        System.arraycopy(outro.ocupacao, 0, ocupacao, 0, 2);
+        todas = outro.todas;
+        chave = outro.chave;
+        estado = outro.estado;
+        meioJogo = outro.meioJogo;
+        finalJogo = outro.finalJogo;
+        fase = outro.fase;
+        historico = outro.historico.clone();
+        plies = outro.plies;
+        pliesIniciais = outro.pliesIniciais;
+    }
+
+    /* posição lida de uma FEN (ver Fen) */
+    Tabuleiro(CharSequence fen) {
+        Fen.ler(fen, this);
+    }
+
+    String paraFen() {
+        return Fen.paraTexto(this);
+    }
+
     void inicializar() {
-        for (int i = 0; i < 8; i++) {
-            casas[1][i] = new Peao(Cor.PRETO, 1, i);
-            casas[6][i] = new Peao(Cor.BRANCO, 6, i);
+        for (int c = 0; c < 8; c++) {
+            colocar(FILA_INICIAL[c] + 6, Bitboard.casa(0, c));
+            colocar(Peca.PEAO + 6, Bitboard.casa(1, c));
+            colocar(Peca.PEAO, Bitboard.casa(6, c));
+            colocar(FILA_INICIAL[c], Bitboard.casa(7, c));
         }
-        casas[0][0] = new Torre(Cor.PRETO, 0, 0);
-        casas[0][7] = new Torre(Cor.PRETO, 0, 7);
-        casas[7][0] = new Torre(Cor.BRANCO, 7, 0);
-        casas[7][7] = new Torre(Cor.BRANCO, 7, 7);
+        mudarEstado(estado | TODOS_ROQUES);
+    }
 
-        casas[0][1] = new Cavalo(Cor.PRETO, 0, 1);
-        casas[0][6] = new Cavalo(Cor.PRETO, 0, 6);
-        casas[7][1] = new Cavalo(Cor.BRANCO, 7, 1);
-        casas[7][6] = new Cavalo(Cor.BRANCO, 7, 6);
+    Peca getPeca(int linha, int coluna) {
+        if (!Bitboard.dentro(linha, coluna)) return null;
+        return getPeca(Bitboard.casa(linha, coluna));
+    }
 
-        casas[0][2] = new Bispo(Cor.PRETO, 0, 2);
-        casas[0][5] = new Bispo(Cor.PRETO, 0, 5);
-        casas[7][2] = new Bispo(Cor.BRANCO, 7, 2);
-        casas[7][5] = new Bispo(Cor.BRANCO, 7, 5);
+    Peca getPeca(int casa) {
+        int codigo = casas[casa];
+        return codigo == 0 ? null : Peca.em(codigo - 1, casa);
+    }
 
-        casas[0][3] = new Rainha(Cor.PRETO, 0, 3);
-        casas[7][3] = new Rainha(Cor.BRANCO, 7, 3);
-        casas[0][4] = new Rei(Cor.PRETO, 0, 4);
-        casas[7][4] = new Rei(Cor.BRANCO, 7, 4);
+    boolean ocupada(int casa) {
+        return (todas & Bitboard.bit(casa)) != 0;
     }
 
-    Peca getPeca(int linha, int coluna) {
-        if (linha < 0 || linha > 7 || coluna < 0 || coluna > 7) return null;
-        return casas[linha][coluna];
+    long getBitboard(int tipo, Cor cor) {
+        return bitboards[tipo + 6 * cor.ordinal()];
+    }
+
+    long getOcupacao(Cor cor) {
+        return ocupacao[cor.ordinal()];
+    }
+
+    long getTodas() {
+        return todas;
+    }
+
+    long getChave() {
+        return chave;
+    }
+
+    Cor getVez() {
+        return (estado & PRETAS_JOGAM) == 0 ? Cor.BRANCO : Cor.PRETO;
+    }
+
+    /* roque, en passant, vez e meios-lances empacotados (ver empacotarEstado) */
+    int getEstado() {
+        return estado;
+    }
+
+    /* troca o estado inteiro, acertando a chave; usado para restaurar e ao ler posições */
+    void setEstado(int novo) {
+        mudarEstado(novo);
+    }
+
+    /**
+     * @param direitos   máscara de ROQUE_*
+     * @param colunaEp   coluna do peão que acabou de avançar duas casas, ou -1
+     * @param vez        lado a jogar
+     * @param meioLances meios-lances desde a última captura ou lance de peão
+     */
+    static int empacotarEstado(int direitos, int colunaEp, Cor vez, int meioLances) {
+        return (direitos & TODOS_ROQUES)
+             | ((colunaEp + 1) << DESLOCAMENTO_EN_PASSANT)
+             | (vez == Cor.PRETO ? PRETAS_JOGAM : 0)
+             | (meioLances << DESLOCAMENTO_MEIO_LANCES);
+    }
+
+    int getDireitosRoque() {
+        return estado & TODOS_ROQUES;
+    }
+
+    /* coluna em que cabe captura en passant, ou -1 */
+    int getColunaEnPassant() {
+        return ((estado & MASCARA_EN_PASSANT) >>> DESLOCAMENTO_EN_PASSANT) - 1;
+    }
+
+    /* casa para onde o lado a jogar pode capturar en passant (bitboard, 0 se nenhuma) */
+    long getEnPassant() {
+        int coluna = getColunaEnPassant();
+        if (coluna < 0) return 0L;
+        return Bitboard.bit(Bitboard.casa((estado & PRETAS_JOGAM) == 0 ? 2 : 5, coluna));
+    }
+
+    /* true se o lance é uma captura en passant (peão indo à casa de en passant, que está vazia) */
+    boolean capturaEnPassant(int lance) {
+        int indice = casas[Movimento.origem(lance)] - 1;
+        return indice >= 0 && indice % 6 == Peca.PEAO && (Bitboard.bit(Movimento.destino(lance)) & getEnPassant()) != 0;
+    }
+
+    int getMeioJogo() {
+        return meioJogo;
+    }
+
+    int getFinalJogo() {
+        return finalJogo;
+    }
+
+    int getFase() {
+        return fase;
+    }
+
+    /*
+     * forma compacta da posição, sem objetos Peca: 12 bitboards, estado, plies,
+     * pliesIniciais e as chaves desde o último lance irreversível (as que
+     * repeticoes() consulta; no máximo meioLances), da mais antiga à mais recente
+     */
+    long[] retrato() {
+        int chaves = Math.min(Math.min(getMeioLances(), plies), historico.length);
+        long[] r = new long[INICIO_CHAVES_RETRATO + chaves];
+        System.arraycopy(bitboards, 0, r, 0, 12);
+        r[12] = estado;
+        r[13] = plies;
+        r[14] = pliesIniciais;
+        for (int i = 0; i < chaves; i++)
+            r[INICIO_CHAVES_RETRATO + i] = historico[(plies - chaves + i) & (historico.length - 1)];
+        return r;
+    }
+
+    /* true se alguma peça de atacante ataca a casa */
+    boolean casaAtacada(int casa, Cor atacante) {
+        int base = 6 * atacante.ordinal();
+        long damas = bitboards[base + Peca.RAINHA];
+        return (Ataques.peao(atacante.oposta(), casa) & bitboards[base + Peca.PEAO]) != 0
+            || (Ataques.cavalo(casa) & bitboards[base + Peca.CAVALO]) != 0
+            || (Ataques.rei(casa) & bitboards[base + Peca.REI]) != 0
+            || (Ataques.bispo(casa, todas) & (bitboards[base + Peca.BISPO] | damas)) != 0
+            || (Ataques.torre(casa, todas) & (bitboards[base + Peca.TORRE] | damas)) != 0;
+    }
+
+    /* peças das duas cores que atacam a casa, considerando a ocupação dada (para trocas) */
+    long atacantes(int casa, long ocupacao) {
+        long retas = bitboards[Peca.TORRE] | bitboards[Peca.TORRE + 6] | bitboards[Peca.RAINHA] | bitboards[Peca.RAINHA + 6];
+        long diagonais = bitboards[Peca.BISPO] | bitboards[Peca.BISPO + 6] | bitboards[Peca.RAINHA] | bitboards[Peca.RAINHA + 6];
+        return (Ataques.peao(Cor.PRETO, casa) & bitboards[Peca.PEAO])
+             | (Ataques.peao(Cor.BRANCO, casa) & bitboards[Peca.PEAO + 6])
+             | (Ataques.cavalo(casa) & (bitboards[Peca.CAVALO] | bitboards[Peca.CAVALO + 6]))
+             | (Ataques.rei(casa) & (bitboards[Peca.REI] | bitboards[Peca.REI + 6]))
+             | (Ataques.bispo(casa, ocupacao) & diagonais)
+             | (Ataques.torre(casa, ocupacao) & retas);
+    }
+
+    /* true se o rei de cor está atacado (sem rei no tabuleiro, nunca está em xeque) */
+    boolean emXeque(Cor cor) {
+        long rei = bitboards[Peca.REI + 6 * cor.ordinal()];
+        return rei != 0 && casaAtacada(Long.numberOfTrailingZeros(rei), cor.oposta());
+    }
+
+    /* peças adversárias que dão xeque no rei de cor (0 sem rei) */
+    long xequeadores(Cor cor) {
+        long rei = bitboards[Peca.REI + 6 * cor.ordinal()];
+        if (rei == 0) return 0L;
+        return atacantes(Long.numberOfTrailingZeros(rei), todas) & ocupacao[cor.oposta().ordinal()];
+    }
+
+    /* peças de cor cravadas no próprio rei por uma torre, bispo ou rainha adversária */
+    long cravadas(Cor cor) {
+        long rei = bitboards[Peca.REI + 6 * cor.ordinal()];
+        if (rei == 0) return 0L;
+        int casaRei = Long.numberOfTrailingZeros(rei);
+        int base = 6 * cor.oposta().ordinal();
+        long damas = bitboards[base + Peca.RAINHA];
+        long cravadoras = (Ataques.torre(casaRei, 0L) & (bitboards[base + Peca.TORRE] | damas))
+                        | (Ataques.bispo(casaRei, 0L) & (bitboards[base + Peca.BISPO] | damas));
+        long cravadas = 0L;
+        for (; cravadoras != 0; cravadoras &= cravadoras - 1) {
+            long meio = Ataques.entre(casaRei, Long.numberOfTrailingZeros(cravadoras)) & todas;
+            if (Long.bitCount(meio) == 1) cravadas |= meio & ocupacao[cor.ordinal()];
+        }
+        return cravadas;
+    }
+
+    /**
+     * true se o lance pseudo-legal não deixa o próprio rei em xeque, dados os
+     * xequeadores e as cravadas do lado que joga (ver xequeadores/cravadas).
+     * São só testes de máscara: o tabuleiro não é alterado.
+     */
+    boolean lanceLegal(int lance, long xequeadores, long cravadas) {
+        int origem = Movimento.origem(lance), destino = Movimento.destino(lance);
+        int indice = casas[origem] - 1;
+        Cor cor = indice < 6 ? Cor.BRANCO : Cor.PRETO;
+        long rei = bitboards[Peca.REI + 6 * cor.ordinal()];
+        if (rei == 0) return true;
+        int casaRei = Long.numberOfTrailingZeros(rei);
+        long para = Bitboard.bit(destino);
+
+        /* o rei não pode ir para casa atacada, contando raios que ele mesmo tapava */
+        if (origem == casaRei) {
+            if (Math.abs(destino - origem) == 2) return (destinosRoque(cor) & para) != 0;
+            return (atacantes(destino, todas ^ rei) & ocupacao[cor.oposta().ordinal()]) == 0;
+        }
+
+        /* en passant tira duas peças da mesma fileira: refaz os raios com a ocupação de depois */
+        if (indice % 6 == Peca.PEAO && (para & getEnPassant()) != 0) {
+            long capturado = Bitboard.bit(destino + (cor == Cor.BRANCO ? 8 : -8));
+            long depois = (todas ^ Bitboard.bit(origem) ^ capturado) | para;
+            int base = 6 * cor.oposta().ordinal();
+            long damas = bitboards[base + Peca.RAINHA];
+            return ((Ataques.torre(casaRei, depois) & (bitboards[base + Peca.TORRE] | damas))
+                  | (Ataques.bispo(casaRei, depois) & (bitboards[base + Peca.BISPO] | damas))
+                  | (Ataques.cavalo(casaRei) & bitboards[base + Peca.CAVALO])
+                  | (Ataques.peao(cor, casaRei) & bitboards[base + Peca.PEAO] & ~capturado)) == 0;
+        }
+
+        if (xequeadores != 0) {
+            if ((xequeadores & (xequeadores - 1)) != 0) return false;          // xeque duplo
+            int xequeador = Long.numberOfTrailingZeros(xequeadores);
+            if ((para & (xequeadores | Ataques.entre(casaRei, xequeador))) == 0) return false;
+        }
+        return (cravadas & Bitboard.bit(origem)) == 0 || (para & Ataques.linha(casaRei, origem)) != 0;
+    }
+
+    int getMeioLances() {
+        return estado >>> DESLOCAMENTO_MEIO_LANCES;
+    }
+
+    /* número do lance completo, como na FEN: começa em 1 e sobe depois do lance das pretas */
+    int getNumeroLance() {
+        return (pliesIniciais + plies) / 2 + 1;
+    }
+
+    void setNumeroLance(int numero) {
+        pliesIniciais = 2 * (numero - 1) + (getVez() == Cor.PRETO ? 1 : 0) - plies;
+    }
+
+    /**
+     * Casas para onde o rei de cor pode rocar agora: direito ainda válido, rei e
+     * torre nas casas iniciais, casas entre eles vazias, e o rei fora de xeque
+     * sem passar nem parar em casa atacada.
+     */
+    long destinosRoque(Cor cor) {
+        int direitos = (estado >>> (2 * cor.ordinal())) & 3;     // bit 0 curto, bit 1 longo
+        if (direitos == 0) return 0L;
+        int base = 6 * cor.ordinal();
+        int rei = CASA_REI[cor.ordinal()];
+        Cor inimigo = cor.oposta();
+        if ((bitboards[base + Peca.REI] & Bitboard.bit(rei)) == 0 || casaAtacada(rei, inimigo)) return 0L;
+
+        long torres = bitboards[base + Peca.TORRE];
+        long destinos = 0L;
+        if ((direitos & 1) != 0 && (torres & Bitboard.bit(rei + 3)) != 0
+                && (todas & (Bitboard.bit(rei + 1) | Bitboard.bit(rei + 2))) == 0
+                && !casaAtacada(rei + 1, inimigo) && !casaAtacada(rei + 2, inimigo))
+            destinos |= Bitboard.bit(rei + 2);
+        if ((direitos & 2) != 0 && (torres & Bitboard.bit(rei - 4)) != 0
+                && (todas & (Bitboard.bit(rei - 1) | Bitboard.bit(rei - 2) | Bitboard.bit(rei - 3))) == 0
+                && !casaAtacada(rei - 1, inimigo) && !casaAtacada(rei - 2, inimigo))
+            destinos |= Bitboard.bit(rei - 2);
+        return destinos;
+    }
+
+    /**
+     * Guarda a posição atual no histórico antes de um lance (feito por
+     * fazerLance/jogar); irreversivel = captura ou lance de peão.
+     */
+    void registrarLance(boolean irreversivel) {
+        if (!irreversivel && getMeioLances() >= historico.length - 1 && historico.length < TAMANHO_HISTORICO)
+            crescerHistorico();
+        historico[plies++ & (historico.length - 1)] = chave;
+        estado = irreversivel ? estado & ((1 << DESLOCAMENTO_MEIO_LANCES) - 1)
+                              : estado + (1 << DESLOCAMENTO_MEIO_LANCES);
+    }
+
+    /* dobra o anel, mantendo cada chave na posição de seu ply */
+    private void crescerHistorico() {
+        long[] maior = new long[historico.length * 2];
+        for (int p = Math.max(0, plies - historico.length); p < plies; p++)
+            maior[p & (maior.length - 1)] = historico[p & (historico.length - 1)];
+        historico = maior;
+    }
+
+    /**
+     * Quantas vezes a posição atual já ocorreu antes. Só olha as posições desde
+     * o último lance irreversível (no máximo meioLances), de dois em dois plies.
+     */
+    int repeticoes() {
+        int limite = Math.min(Math.min(getMeioLances(), plies), historico.length);
+        int vezes = 0;
+        for (int i = 4; i <= limite; i += 2)
+            if (historico[(plies - i) & (historico.length - 1)] == chave) vezes++;
+        return vezes;
+    }
+
+    /* só troca o lado a jogar (posições montadas à mão); os lances passam a vez em executar */
+    void passarVez() {
+        estado ^= PRETAS_JOGAM;
+        chave ^= Zobrist.VEZ_PRETO;
+    }
+
+    /* troca o estado acertando na chave só o que mudou */
+    private void mudarEstado(int novo) {
+        int diferenca = estado ^ novo;
+        chave ^= Zobrist.roque(diferenca & TODOS_ROQUES);
+        if ((diferenca & MASCARA_EN_PASSANT) != 0)
+            chave ^= Zobrist.enPassant(getColunaEnPassant())
+                   ^ Zobrist.enPassant(((novo & MASCARA_EN_PASSANT) >>> DESLOCAMENTO_EN_PASSANT) - 1);
+        if ((diferenca & PRETAS_JOGAM) != 0) chave ^= Zobrist.VEZ_PRETO;
+        estado = novo;
+    }
+
+    /**
+     * Gera os lances pseudo-legais de cor (sem verificar se o rei fica em xeque),
+     * escrevendo-os codificados (ver Movimento) em lances, a partir do índice 0.
+     * Não aloca objetos; lances deve ter pelo menos Movimento.MAX_LANCES posições.
+     *
+     * @return quantidade de lances escritos
+     */
+    int gerarMovimentos(Cor cor, int[] lances) {
+        int n = gerar(cor, lances, ~ocupacao[cor.ordinal()], -1L, true);
+        return adicionar(lances, n, CASA_REI[cor.ordinal()], destinosRoque(cor));
+    }
+
+    /* apenas capturas (en passant incluído) e promoções a rainha (usado pela busca de quiescência) */
+    int gerarCapturas(Cor cor, int[] lances) {
+        long inimigas = ocupacao[cor.oposta().ordinal()];
+        return gerar(cor, lances, inimigas, inimigas | ULTIMAS_LINHAS | getEnPassant(), false);
+    }
+
+    /*
+     * livres: destinos permitidos às peças; alvosPeao: destinos permitidos aos peões;
+     * subpromocoes: além da rainha, promove também a cavalo, bispo e torre
+     */
+    private int gerar(Cor cor, int[] lances, long livres, long alvosPeao, boolean subpromocoes) {
+        int base = 6 * cor.ordinal();
+        int n = 0;
+
+        for (long b = bitboards[base + Peca.PEAO]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            for (long d = Peao.destinos(this, cor, origem) & alvosPeao; d != 0; d &= d - 1) {
+                int destino = Long.numberOfTrailingZeros(d);
+                if ((Bitboard.bit(destino) & ULTIMAS_LINHAS) == 0) {
+                    lances[n++] = Movimento.criar(origem, destino);
+                    continue;
+                }
+                lances[n++] = Movimento.criar(origem, destino, Peca.RAINHA);
+                if (subpromocoes)
+                    for (int promocao = Peca.CAVALO; promocao < Peca.RAINHA; promocao++)
+                        lances[n++] = Movimento.criar(origem, destino, promocao);
+            }
+        }
+        for (long b = bitboards[base + Peca.CAVALO]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            n = adicionar(lances, n, origem, Ataques.cavalo(origem) & livres);
+        }
+        for (long b = bitboards[base + Peca.BISPO]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            n = adicionar(lances, n, origem, Ataques.bispo(origem, todas) & livres);
+        }
+        for (long b = bitboards[base + Peca.TORRE]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            n = adicionar(lances, n, origem, Ataques.torre(origem, todas) & livres);
+        }
+        for (long b = bitboards[base + Peca.RAINHA]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            n = adicionar(lances, n, origem, Ataques.rainha(origem, todas) & livres);
+        }
+        for (long b = bitboards[base + Peca.REI]; b != 0; b &= b - 1) {
+            int origem = Long.numberOfTrailingZeros(b);
+            n = adicionar(lances, n, origem, Ataques.rei(origem) & livres);
+        }
+        return n;
+    }
+
+    private static int adicionar(int[] lances, int n, int origem, long destinos) {
+        for (; destinos != 0; destinos &= destinos - 1)
+            lances[n++] = Movimento.criar(origem, Long.numberOfTrailingZeros(destinos));
+        return n;
+    }
+
+    /**
+     * Executa o lance (codificado por Movimento) guardando na pilha o necessário
+     * para desfazerLance. Não verifica a validade do lance.
+     */
+    void fazerLance(int lance) {
+        if (pilhaLances == null) alocarPilha();
+        pilhaLances[topo] = lance;
+        pilhaEstados[topo] = estado;
+        pilhaCapturadas[topo] = (byte) executar(lance);
+        topo++;
+    }
+
+    /* desfaz o último lance feito com fazerLance */
+    void desfazerLance() {
+        topo--;
+        plies--;
+        mudarEstado(pilhaEstados[topo]);
+        int lance = pilhaLances[topo];
+        int origem = Movimento.origem(lance);
+        int destino = Movimento.destino(lance);
+        int indice = casas[destino] - 1;
+        if (Movimento.promocao(lance) != 0) indice = Peca.PEAO + (indice < 6 ? 0 : 6);
+        int tipo = indice % 6;
+
+        remover(destino);
+        colocar(indice, origem);
+        if (tipo == Peca.REI && Math.abs(destino - origem) == 2)
+            moverTorre(destino > origem ? origem + 1 : origem - 1, destino > origem ? origem + 3 : origem - 4);
+        int capturada = pilhaCapturadas[topo];
+        if (capturada != 0) {
+            /* o estado já é o de antes do lance: peão no alvo de en passant capturou ao lado */
+            boolean enPassant = tipo == Peca.PEAO && (Bitboard.bit(destino) & getEnPassant()) != 0;
+            colocar(capturada - 1, enPassant ? destino + (indice < 6 ? 8 : -8) : destino);
+        }
+    }
+
+    /**
+     * Executa um lance já validado sem registro de desfazer (partida e
+     * interfaces), de modo que a partida pode ter qualquer comprimento.
+     */
+    void jogar(int lance) {
+        executar(lance);
+    }
+
+    /* passa a vez sem mover (busca com lance nulo); conta como lance irreversível */
+    void fazerLanceNulo() {
+        if (pilhaLances == null) alocarPilha();
+        pilhaLances[topo] = Movimento.NENHUM;
+        pilhaEstados[topo] = estado;
+        topo++;
+        registrarLance(true);
+        mudarEstado((estado & ~MASCARA_EN_PASSANT) ^ PRETAS_JOGAM);
     }
 
-    void moverPeca(Peca p, int linha, int coluna) {
-        casas[p.getLinha()][p.getColuna()] = null;
-        p.setPosicao(linha, coluna);
-        casas[linha][coluna] = p;
+    void desfazerLanceNulo() {
+        topo--;
+        plies--;
+        mudarEstado(pilhaEstados[topo]);
     }
-    
+
+    private void alocarPilha() {
+        pilhaLances = new int[MAX_DESFAZER];
+        pilhaCapturadas = new byte[MAX_DESFAZER];
+        pilhaEstados = new int[MAX_DESFAZER];
+    }
+
+    /**
+     * Move peças à mão (montagem de posições); perde o roque de rei ou torre que
+     * saia ou seja tomado. p não muda (é imutável): a peça que fica no destino é
+     * a devolvida, do mesmo tipo e cor. A origem só é esvaziada se ainda guarda
+     * essa peça: uma instância velha (de uma casa que já mudou) só coloca.
+     */
+    @SuppressWarnings("unchecked")
+    <P extends Peca> P moverPeca(P p, int linha, int coluna) {
+        int destino = Bitboard.casa(linha, coluna);
+        int perdidos = PERDE_ROQUE[destino];
+        if (Bitboard.dentro(p.getLinha(), p.getColuna())) {
+            int origem = Bitboard.casa(p.getLinha(), p.getColuna());
+            if (casas[origem] == p.getIndice() + 1) {
+                perdidos |= PERDE_ROQUE[origem];
+                remover(origem);
+            }
+        }
+        colocar(p.getIndice(), destino);
+        if ((estado & perdidos) != 0) mudarEstado(estado & ~perdidos);
+        return (P) Peca.em(p.getIndice(), destino);
+    }
+
     void limpar() {
-        for (int l = 0; l < 8; l++)
-            for (int c = 0; c < 8; c++)
-                casas[l][c] = null;
+        for (int i = 0; i < 64; i++) casas[i] = 0;
+        for (int i = 0; i < 12; i++) bitboards[i] = 0L;
+        ocupacao[0] = ocupacao[1] = todas = chave = 0L;
+        meioJogo = finalJogo = fase = 0;
+        topo = plies = pliesIniciais = estado = 0;
+    }
+
+    /**
+     * Move as peças do lance (roque leva a torre, en passant tira o peão ao lado),
+     * atualiza o estado e passa a vez.
+     *
+     * @return a peça capturada como em casas (índice + 1), ou 0
+     */
+    private int executar(int lance) {
+        int origem = Movimento.origem(lance);
+        int destino = Movimento.destino(lance);
+        int promocao = Movimento.promocao(lance);
+        int indice = casas[origem] - 1;
+        int tipo = indice % 6;
+        Cor cor = indice < 6 ? Cor.BRANCO : Cor.PRETO;
+        int casaCapturada = destino;
+        if (tipo == Peca.PEAO && (Bitboard.bit(destino) & getEnPassant()) != 0)
+            casaCapturada = destino + (cor == Cor.BRANCO ? 8 : -8);
+        int capturada = casas[casaCapturada];
+        registrarLance(capturada != 0 || tipo == Peca.PEAO);
+
+        remover(casaCapturada);
+        remover(origem);
+        colocar(promocao == 0 ? indice : promocao + 6 * cor.ordinal(), destino);
+        if (tipo == Peca.REI && Math.abs(destino - origem) == 2)
+            moverTorre(destino > origem ? origem + 3 : origem - 4, destino > origem ? origem + 1 : origem - 1);
+
+        int novo = (estado & ~MASCARA_EN_PASSANT & ~PERDE_ROQUE[origem] & ~PERDE_ROQUE[destino]) ^ PRETAS_JOGAM;
+        /* só marca en passant se houver peão adversário para capturar (a chave não muda à toa) */
+        if (tipo == Peca.PEAO && Math.abs(destino - origem) == 16) {
+            int passagem = (origem + destino) >>> 1;
+            if ((Ataques.peao(cor, passagem) & bitboards[Peca.PEAO + 6 * cor.oposta().ordinal()]) != 0)
+                novo |= (Bitboard.coluna(destino) + 1) << DESLOCAMENTO_EN_PASSANT;
+        }
+        mudarEstado(novo);
+        return capturada;
+    }
+
+    private void moverTorre(int de, int para) {
+        int torre = casas[de] - 1;
+        remover(de);
+        colocar(torre, para);
+    }
+
+    /* coloca a peça de índice na casa, retirando antes a que lá estiver */
+    private void colocar(int indice, int casa) {
+        remover(casa);
+        long b = Bitboard.bit(casa);
+        casas[casa] = (byte) (indice + 1);
+        bitboards[indice] |= b;
+        ocupacao[indice < 6 ? 0 : 1] |= b;
+        todas |= b;
+        chave ^= Zobrist.peca(indice, casa);
+        meioJogo += Avaliacao.meioJogo(indice, casa);
+        finalJogo += Avaliacao.finalJogo(indice, casa);
+        fase += Avaliacao.fase(indice % 6);
+    }
+
+    private void remover(int casa) {
+        int indice = casas[casa] - 1;
+        if (indice < 0) return;
+        long b = ~Bitboard.bit(casa);
+        casas[casa] = 0;
+        bitboards[indice] &= b;
+        ocupacao[indice < 6 ? 0 : 1] &= b;
+        todas &= b;
+        chave ^= Zobrist.peca(indice, casa);
+        meioJogo -= Avaliacao.meioJogo(indice, casa);
+        finalJogo -= Avaliacao.finalJogo(indice, casa);
+        fase -= Avaliacao.fase(indice % 6);
     }
 }
@@ -0,0 +1,68 @@
+package model;
+
+/**
+ * Avaliação estática de trocas (SEE): o saldo material de uma captura,
+ * supondo que os dois lados continuam recapturando na casa de destino sempre
+ * com a peça menos valiosa, e que cada lado pode parar quando lhe convier.
+ *
+ * · Os atacantes vêm das mesmas tabelas de Ataques que definem o movimento
+ *   de Torre, Bispo, Cavalo, Peao, Rainha e Rei; peças de raio escondidas
+ *   atrás de outra (raios X) entram quando a da frente sai.
+ * · Não verifica cravadas nem xeque.
+ * · Uma instância reaproveita o seu vetor de ganhos (não é thread-safe).
+ */
+final class TrocaEstatica {
+
+    /* valores usados na troca, por tipo (PEAO .. REI) */
+    static final int[] VALOR = { 100, 320, 330, 500, 900, 20_000 };
+
+    private final int[] ganho = new int[32];
+
+    /* saldo da captura lance para quem a faz (negativo = captura perdedora) */
+    int avaliar(Tabuleiro tabuleiro, int lance) {
+        int origem = Movimento.origem(lance);
+        int destino = Movimento.destino(lance);
+        Peca atacante = tabuleiro.getPeca(origem);
+        Peca vitima = tabuleiro.getPeca(destino);
+
+        long retas = tabuleiro.getBitboard(Peca.TORRE, Cor.BRANCO) | tabuleiro.getBitboard(Peca.TORRE, Cor.PRETO)
+                   | tabuleiro.getBitboard(Peca.RAINHA, Cor.BRANCO) | tabuleiro.getBitboard(Peca.RAINHA, Cor.PRETO);
+        long diagonais = tabuleiro.getBitboard(Peca.BISPO, Cor.BRANCO) | tabuleiro.getBitboard(Peca.BISPO, Cor.PRETO)
+                       | tabuleiro.getBitboard(Peca.RAINHA, Cor.BRANCO) | tabuleiro.getBitboard(Peca.RAINHA, Cor.PRETO);
+
+        Cor lado = atacante.getCor();
+        boolean enPassant = tabuleiro.capturaEnPassant(lance);
+        long ocupacao = tabuleiro.getTodas();
+        /* en passant: o peão capturado sai de uma casa ao lado do destino */
+        if (enPassant) ocupacao ^= Bitboard.bit(destino + (lado == Cor.BRANCO ? 8 : -8));
+        long atacantes = tabuleiro.atacantes(destino, ocupacao);
+        long de = Bitboard.bit(origem);
+        int tipo = atacante.getTipo();
+
+        int d = 0;
+        ganho[0] = enPassant ? VALOR[Peca.PEAO] : vitima == null ? 0 : VALOR[vitima.getTipo()];
+        while (true) {
+            ocupacao ^= de;
+            atacantes ^= de;
+            atacantes |= (Ataques.bispo(destino, ocupacao) & diagonais
+                        | Ataques.torre(destino, ocupacao) & retas) & ocupacao;
+
+            lado = lado.oposta();
+            long meus = atacantes & tabuleiro.getOcupacao(lado);
+            if (meus == 0) break;
+
+            d++;
+            ganho[d] = VALOR[tipo] - ganho[d - 1];             // captura a peça que acabou de capturar
+            for (tipo = Peca.PEAO; tipo <= Peca.REI; tipo++) {
+                long b = meus & tabuleiro.getBitboard(tipo, lado);
+                if (b != 0) {
+                    de = b & -b;
+                    break;
+                }
+            }
+        }
+        /* de trás para frente: cada lado só captura se isso não o deixar pior */
+        for (; d > 0; d--) ganho[d - 1] = -Math.max(-ganho[d - 1], ganho[d]);
+        return ganho[0];
+    }
+}
@@ -0,0 +1,261 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Adaptador do protocolo UCI sobre a entrada e a saída padrão, para jogar
+ * com interfaces gráficas e gerenciadores de torneio.
+ *
+ * · A thread que lê a entrada nunca busca: "go" inicia a busca numa thread
+ *   própria, e a leitura continua durante a busca. "stop" chama parar(), que
+ *   a busca atende em bem menos de um milissegundo.
+ * · O tempo de cada lance é decidido por um Relogio (prazos suave e duro).
+ * · Comandos: uci, isready, ucinewgame, setoption (Hash, Threads),
+ *   position startpos|fen ... [moves ...], go (wtime, btime, winc, binc,
+ *   movestogo, movetime, depth, infinite), stop e quit; os demais são ignorados.
+ * · Os lances de "position" são aplicados com Tabuleiro.jogar, fora da pilha
+ *   de desfazer, então a partida pode ter qualquer comprimento.
+ * · Comandos malformados são respondidos com "info string" e não mudam o estado.
+ *
+ * Uso: java model.Uci
+ */
+final class Uci {
+
+    private static final String NOME = "trabalho_poo";
+
+    private static final int HASH_PADRAO = 16, HASH_MAX = 4096;
+    private static final int THREADS_MAX = 64;
+
+    private final BufferedReader entrada;
+    private final PrintStream saida;
+
+    private Tabuleiro tabuleiro = new Tabuleiro();
+    private TabelaTransposicao tabela = new TabelaTransposicao(HASH_PADRAO);
+    private int threads = 1;
+
+    private BuscaParalela busca;
+    private Thread execucao;
+    private CountDownLatch sinalParada;
+
+    Uci(BufferedReader entrada, PrintStream saida) {
+        this.entrada = entrada;
+        this.saida = saida;
+    }
+
+    public static void main(String[] args) throws IOException {
+        PrintStream saida = new PrintStream(new FileOutputStream(FileDescriptor.out), true);
+        new Uci(new BufferedReader(new InputStreamReader(System.in)), saida).executar();
+    }
+
+    /* lê comandos até "quit" ou o fim da entrada */
+    void executar() throws IOException {
+        String linha;
+        while ((linha = entrada.readLine()) != null)
+            if (!comando(linha)) break;
+        pararBusca();
+    }
+
+    /**
+     * Trata uma linha da interface.
+     *
+     * @return false se a linha for "quit"
+     */
+    boolean comando(String linha) {
+        String[] p = linha.trim().split("\\s+");
+        try {
+            switch (p[0]) {
+                case "uci":
+                    saida.println("id name " + NOME);
+                    saida.println("option name Hash type spin default " + HASH_PADRAO + " min 1 max " + HASH_MAX);
+                    saida.println("option name Threads type spin default 1 min 1 max " + THREADS_MAX);
+                    saida.println("uciok");
+                    break;
+                case "isready":
+                    saida.println("readyok");
+                    break;
+                case "ucinewgame":
+                    pararBusca();
+                    tabela.limpar();
+                    tabuleiro = new Tabuleiro();
+                    break;
+                case "setoption":
+                    pararBusca();
+                    opcao(p);
+                    break;
+                case "position":
+                    pararBusca();
+                    tabuleiro = posicao(linha, p);
+                    break;
+                case "go":
+                    pararBusca();
+                    go(p);
+                    break;
+                case "stop":
+                    pararBusca();
+                    break;
+                case "quit":
+                    pararBusca();
+                    return false;
+                default:
+                    break;
+            }
+        } catch (IllegalArgumentException e) {
+            saida.println("info string " + e.getMessage());
+        } catch (ArrayIndexOutOfBoundsException e) {
+            saida.println("info string comando incompleto: " + linha.trim());
+        }
+        return true;
+    }
+
+    Tabuleiro getTabuleiro() {
+        return tabuleiro;
+    }
+
+    /* interrompe a busca em andamento (se houver) e espera o bestmove */
+    void pararBusca() {
+        if (execucao == null) return;
+        busca.parar();
+        sinalParada.countDown();
+        try {
+            execucao.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        execucao = null;
+    }
+
+    /* setoption name <nome> value <valor> */
+    private void opcao(String[] p) {
+        if (p.length < 5 || !p[1].equals("name") || !p[3].equals("value"))
+            throw new IllegalArgumentException("setoption malformado");
+        int valor = inteiro(p[4]);
+        if (p[2].equalsIgnoreCase("Hash")) {
+            tabela = new TabelaTransposicao(Math.max(1, Math.min(HASH_MAX, valor)));
+        } else if (p[2].equalsIgnoreCase("Threads")) {
+            threads = Math.max(1, Math.min(THREADS_MAX, valor));
+        }
+    }
+
+    /* position startpos|fen <6 campos> [moves <lance> ...]; a FEN é lida direto da linha */
+    private static Tabuleiro posicao(String linha, String[] p) {
+        if (p.length < 2) throw new IllegalArgumentException("position sem posição");
+        Tabuleiro t;
+        int i;
+        if (p[1].equals("startpos")) {
+            t = new Tabuleiro();
+            i = 2;
+        } else if (p[1].equals("fen")) {
+            int inicio = linha.indexOf("fen") + 3;
+            int fim = linha.indexOf("moves", inicio);
+            t = new Tabuleiro();
+            Fen.ler(linha, inicio, fim < 0 ? linha.length() : fim, t);
+            i = 2;
+            while (i < p.length && !p[i].equals("moves")) i++;
+        } else {
+            throw new IllegalArgumentException("position: esperado startpos ou fen");
+        }
+        if (i < p.length && p[i].equals("moves"))
+            for (i++; i < p.length; i++) aplicar(t, p[i]);
+        return t;
+    }
+
+    /* aplica um lance de coordenadas, sem guardá-lo na pilha de desfazer */
+    private static void aplicar(Tabuleiro t, String texto) {
+        int lance = Movimento.deTexto(texto);
+        Peca p = lance == Movimento.NENHUM ? null : t.getPeca(Movimento.origem(lance));
+        if (p == null || p.getCor() != t.getVez()) throw new IllegalArgumentException("lance inválido: " + texto);
+
+        int origem = Movimento.origem(lance), destino = Movimento.destino(lance);
+        boolean promove = p.getTipo() == Peca.PEAO && (Bitboard.linha(destino) == 0 || Bitboard.linha(destino) == 7);
+        if ((p.destinos(t) & Bitboard.bit(destino)) == 0 || promove != (Movimento.promocao(lance) != 0)
+                || !t.lanceLegal(lance, t.xequeadores(p.getCor()), t.cravadas(p.getCor())))
+            throw new IllegalArgumentException("lance inválido: " + texto);
+        t.jogar(lance);
+    }
+
+    /* go [wtime x] [btime x] [winc x] [binc x] [movestogo x] [movetime x] [depth x] [infinite] */
+    private void go(String[] p) {
+        long restante = -1, incremento = 0, tempoFixo = -1;
+        int lancesAteControle = 0, profundidade = Busca.MAX_PLY - 1;
+        boolean infinito = false;
+        boolean brancas = tabuleiro.getVez() == Cor.BRANCO;
+        for (int i = 1; i < p.length; i++) {
+            switch (p[i]) {
+                case "wtime":     if (brancas) restante = inteiro(p[++i]); else i++; break;
+                case "btime":     if (!brancas) restante = inteiro(p[++i]); else i++; break;
+                case "winc":      if (brancas) incremento = inteiro(p[++i]); else i++; break;
+                case "binc":      if (!brancas) incremento = inteiro(p[++i]); else i++; break;
+                case "movestogo": lancesAteControle = inteiro(p[++i]); break;
+                case "movetime":  tempoFixo = inteiro(p[++i]); break;
+                case "depth":     profundidade = Math.max(1, Math.min(Busca.MAX_PLY - 1, inteiro(p[++i]))); break;
+                case "infinite":  infinito = true; break;
+                default:          break;
+            }
+        }
+
+        Relogio relogio;
+        if (infinito) relogio = Relogio.semLimite();
+        else if (tempoFixo >= 0) relogio = Relogio.fixo(tempoFixo);
+        else if (restante >= 0) relogio = Relogio.controle(restante, incremento, lancesAteControle);
+        else relogio = Relogio.semLimite();
+
+        BuscaParalela b = new BuscaParalela(tabuleiro, threads, tabela);
+        CountDownLatch sinal = new CountDownLatch(1);
+        int prof = profundidade;
+        boolean esperarStop = infinito;
+        busca = b;
+        sinalParada = sinal;
+        execucao = new Thread(() -> {
+            int lance = b.melhorLance(relogio, prof);
+            /* em "go infinite" o bestmove só pode sair depois do stop */
+            if (esperarStop) {
+                try {
+                    sinal.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            informar(b, lance);
+        }, "uci-busca");
+        execucao.start();
+    }
+
+    private void informar(BuscaParalela b, int lance) {
+        if (lance == Movimento.NENHUM) {
+            saida.println("bestmove 0000");
+            return;
+        }
+        StringBuilder sb = new StringBuilder("info depth ").append(b.getProfundidadeAlcancada());
+        int valor = b.getPontuacao();
+        if (Math.abs(valor) >= Busca.MATE - Busca.MAX_PLY) {
+            int plies = Busca.MATE - Math.abs(valor);
+            sb.append(" score mate ").append(valor > 0 ? (plies + 1) / 2 : -(plies / 2));
+        } else {
+            sb.append(" score cp ").append(valor);
+        }
+        sb.append(" nodes ").append(b.getNos())
+          .append(" nps ").append(b.getNosPorSegundo())
+          .append(" time ").append(b.getTempoMs());
+        int[] pv = b.getVariacaoPrincipal();
+        if (pv.length > 0) {
+            sb.append(" pv");
+            for (int l : pv) sb.append(' ').append(Movimento.paraTexto(l));
+        }
+        saida.println(sb);
+        saida.println("bestmove " + Movimento.paraTexto(lance));
+    }
+
+    private static int inteiro(String texto) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("número inválido: " + texto);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package model;
+
+/**
+ * Chaves de Zobrist para o hash incremental da posição.
+ *
+ * · Uma chave aleatória por (índice da peça, casa), uma para o lado a jogar,
+ *   uma por direito de roque e uma por coluna de en passant.
+ * · ROQUE[m] já é o XOR das chaves dos direitos em m (máscara de 4 bits), então
+ *   trocar de direitos custa um XOR só; ROQUE[0] e EN_PASSANT[0] são 0.
+ * · O hash de uma posição é o XOR das chaves presentes; o Tabuleiro o atualiza
+ *   a cada peça colocada ou retirada e a cada mudança do estado (ver Tabuleiro).
+ * · Semente fixa: as chaves são as mesmas em toda execução.
+ */
+final class Zobrist {
+
+    private static final long[] PECAS = new long[12 * 64];
+    static final long VEZ_PRETO;
+    private static final long[] ROQUE = new long[16];
+    private static final long[] EN_PASSANT = new long[9];      // coluna + 1; 0 = sem en passant
+
+    static {
+        long s = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < PECAS.length; i++) {
+            s = proximo(s);
+            PECAS[i] = misturar(s);
+        }
+        s = proximo(s);
+        VEZ_PRETO = misturar(s);
+        long[] direitos = new long[4];
+        for (int i = 0; i < 4; i++) {
+            s = proximo(s);
+            direitos[i] = misturar(s);
+        }
+        for (int m = 1; m < 16; m++)
+            for (int i = 0; i < 4; i++)
+                if ((m & (1 << i)) != 0) ROQUE[m] ^= direitos[i];
+        for (int i = 1; i < EN_PASSANT.length; i++) {
+            s = proximo(s);
+            EN_PASSANT[i] = misturar(s);
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long peca(int indice, int casa) {
+        return PECAS[(indice << 6) | casa];
+    }
+
+    /* direitos: máscara de Tabuleiro.ROQUE_* */
+    static long roque(int direitos) {
+        return ROQUE[direitos];
+    }
+
+    /* coluna: 0-7, ou -1 sem en passant */
+    static long enPassant(int coluna) {
+        return EN_PASSANT[coluna + 1];
+    }
+
+    /* splitmix64 */
+    private static long proximo(long s) {
+        return s + 0x9E3779B97F4A7C15L;
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
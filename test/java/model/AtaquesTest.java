@@ -0,0 +1,186 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Testes das tabelas de ataque pré-calculadas.
+ *
+ * · As tabelas mágicas são comparadas, de forma exaustiva, com o percurso
+ *   de raio casa a casa que Torre, Bispo e Rainha usavam antes.
+ * · Para cada casa de origem são enumeradas todas as ocupações possíveis
+ *   das casas que podem bloquear o raio.
+ * · As máscaras de cavalo, rei e peão são comparadas com a geometria
+ *   (Math.abs) usada antes, e destinos() com podeMoverPara casa a casa.
+ */
+public class AtaquesTest {
+
+    /*------------------------------------------------------------
+     * REFERÊNCIA – o antigo laço while de podeMoverPara
+     *----------------------------------------------------------*/
+    private static boolean caminhoLivre(long ocupacao, int linha, int coluna, int l, int c) {
+        int deltaL = Integer.compare(l, linha);
+        int deltaC = Integer.compare(c, coluna);
+        int i = linha + deltaL, j = coluna + deltaC;
+
+        while (i != l || j != c) {
+            if ((ocupacao & Bitboard.bit(Bitboard.casa(i, j))) != 0) return false;
+            i += deltaL;
+            j += deltaC;
+        }
+        return true;
+    }
+
+    private static long referenciaTorre(int casa, long ocupacao) {
+        int linha = Bitboard.linha(casa), coluna = Bitboard.coluna(casa);
+        long ataques = 0L;
+        for (int l = 0; l < 8; l++)
+            for (int c = 0; c < 8; c++) {
+                if (l == linha && c == coluna) continue;
+                if (linha != l && coluna != c) continue;
+                if (caminhoLivre(ocupacao, linha, coluna, l, c)) ataques |= Bitboard.bit(Bitboard.casa(l, c));
+            }
+        return ataques;
+    }
+
+    private static long referenciaBispo(int casa, long ocupacao) {
+        int linha = Bitboard.linha(casa), coluna = Bitboard.coluna(casa);
+        long ataques = 0L;
+        for (int l = 0; l < 8; l++)
+            for (int c = 0; c < 8; c++) {
+                if (l == linha && c == coluna) continue;
+                if (Math.abs(l - linha) != Math.abs(c - coluna)) continue;
+                if (caminhoLivre(ocupacao, linha, coluna, l, c)) ataques |= Bitboard.bit(Bitboard.casa(l, c));
+            }
+        return ataques;
+    }
+
+    /* casas interiores de cada raio: as únicas que influenciam o resultado */
+    private static long bloqueadores(int casa, boolean torre) {
+        long todas = torre ? referenciaTorre(casa, 0L) : referenciaBispo(casa, 0L);
+        long bordas = 0L;
+        for (int i = 0; i < 8; i++) {
+            if (Bitboard.linha(casa) != 0) bordas |= Bitboard.bit(Bitboard.casa(0, i));
+            if (Bitboard.linha(casa) != 7) bordas |= Bitboard.bit(Bitboard.casa(7, i));
+            if (Bitboard.coluna(casa) != 0) bordas |= Bitboard.bit(Bitboard.casa(i, 0));
+            if (Bitboard.coluna(casa) != 7) bordas |= Bitboard.bit(Bitboard.casa(i, 7));
+        }
+        return todas & ~bordas;
+    }
+
+    /*============================================================
+     *  A. EQUIVALÊNCIA EXAUSTIVA
+     *==========================================================*/
+
+    @Test public void torre_todasOcupacoesDeTodasAsCasas() {
+        for (int casa = 0; casa < 64; casa++) {
+            long mascara = bloqueadores(casa, true);
+            long sub = 0L;
+            do {
+                assertEquals("casa " + casa + " ocupação " + Long.toHexString(sub),
+                             referenciaTorre(casa, sub), Ataques.torre(casa, sub));
+                sub = (sub - mascara) & mascara;
+            } while (sub != 0L);
+        }
+    }
+
+    @Test public void bispo_todasOcupacoesDeTodasAsCasas() {
+        for (int casa = 0; casa < 64; casa++) {
+            long mascara = bloqueadores(casa, false);
+            long sub = 0L;
+            do {
+                assertEquals("casa " + casa + " ocupação " + Long.toHexString(sub),
+                             referenciaBispo(casa, sub), Ataques.bispo(casa, sub));
+                sub = (sub - mascara) & mascara;
+            } while (sub != 0L);
+        }
+    }
+
+    @Test public void ocupacaoForaDaMascara_naoAlteraResultado() {
+        Random r = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int casa = r.nextInt(64);
+            long ocupacao = r.nextLong() & r.nextLong();
+            assertEquals(referenciaTorre(casa, ocupacao), Ataques.torre(casa, ocupacao));
+            assertEquals(referenciaBispo(casa, ocupacao), Ataques.bispo(casa, ocupacao));
+            assertEquals(referenciaTorre(casa, ocupacao) | referenciaBispo(casa, ocupacao),
+                         Ataques.rainha(casa, ocupacao));
+        }
+    }
+
+    /*============================================================
+     *  B. EQUIVALÊNCIA EM TABULEIROS ALEATÓRIOS (podeMoverPara)
+     *==========================================================*/
+
+    @Test public void podeMoverPara_igualAoPercursoDeRaio() {
+        Random r = new Random(7);
+        for (int n = 0; n < 2000; n++) {
+            Tabuleiro tabuleiro = new Tabuleiro();
+            tabuleiro.limpar();
+            for (int k = r.nextInt(24); k >= 0; k--) {
+                int l = r.nextInt(8), c = r.nextInt(8);
+                tabuleiro.moverPeca(new Peao(r.nextBoolean() ? Cor.BRANCO : Cor.PRETO, l, c), l, c);
+            }
+            int l0 = r.nextInt(8), c0 = r.nextInt(8);
+            Cor cor = r.nextBoolean() ? Cor.BRANCO : Cor.PRETO;
+            Peca[] pecas = { new Torre(cor, l0, c0), new Bispo(cor, l0, c0), new Rainha(cor, l0, c0) };
+
+            for (Peca p : pecas) {
+                tabuleiro.moverPeca(p, l0, c0);
+                long ocupacao = tabuleiro.getTodas();
+                for (int l = 0; l < 8; l++)
+                    for (int c = 0; c < 8; c++) {
+                        boolean linhaOuColuna = l == l0 || c == c0;
+                        boolean diagonal = Math.abs(l - l0) == Math.abs(c - c0);
+                        boolean geometria = p instanceof Torre ? linhaOuColuna
+                                          : p instanceof Bispo ? diagonal
+                                          : linhaOuColuna || diagonal;
+                        Peca destino = tabuleiro.getPeca(l, c);
+                        boolean esperado = geometria && caminhoLivre(ocupacao, l0, c0, l, c)
+                                        && (destino == null || destino.getCor() != cor);
+                        assertEquals(esperado, p.podeMoverPara(tabuleiro, l, c));
+                    }
+            }
+        }
+    }
+
+    /*============================================================
+     *  C. MÁSCARAS DE SALTO (CAVALO, REI, PEÃO)
+     *==========================================================*/
+
+    @Test public void mascarasDeSalto_igualAGeometria() {
+        for (int casa = 0; casa < 64; casa++) {
+            int linha = Bitboard.linha(casa), coluna = Bitboard.coluna(casa);
+            for (int l = 0; l < 8; l++)
+                for (int c = 0; c < 8; c++) {
+                    long b = Bitboard.bit(Bitboard.casa(l, c));
+                    int dx = Math.abs(linha - l), dy = Math.abs(coluna - c);
+
+                    assertEquals((dx == 2 && dy == 1) || (dx == 1 && dy == 2), (Ataques.cavalo(casa) & b) != 0);
+                    assertEquals(dx <= 1 && dy <= 1 && dx + dy > 0, (Ataques.rei(casa) & b) != 0);
+                    assertEquals(dy == 1 && l == linha - 1, (Ataques.peao(Cor.BRANCO, casa) & b) != 0);
+                    assertEquals(dy == 1 && l == linha + 1, (Ataques.peao(Cor.PRETO, casa) & b) != 0);
+                    assertEquals(dy == 0 && l == linha - 1, (Ataques.peaoAvanco(Cor.BRANCO, casa) & b) != 0);
+                    assertEquals(dy == 0 && l == linha + 1, (Ataques.peaoAvanco(Cor.PRETO, casa) & b) != 0);
+                }
+        }
+    }
+
+    @Test public void destinos_coincideComPodeMoverPara() {
+        Tabuleiro tabuleiro = new Tabuleiro();                  // posição inicial
+        tabuleiro.moverPeca(tabuleiro.getPeca(6, 4), 4, 4);     // peão branco avança duas casas
+        tabuleiro.moverPeca(tabuleiro.getPeca(1, 3), 3, 3);     // peão preto avança duas casas
+
+        for (int casa = 0; casa < 64; casa++) {
+            Peca p = tabuleiro.getPeca(casa);
+            if (p == null) continue;
+            long destinos = p.destinos(tabuleiro);
+            for (int l = 0; l < 8; l++)
+                for (int c = 0; c < 8; c++)
+                    assertEquals((destinos & Bitboard.bit(Bitboard.casa(l, c))) != 0, p.podeMoverPara(tabuleiro, l, c));
+        }
+        assertEquals(Bitboard.bit(Bitboard.casa(3, 4)) | Bitboard.bit(Bitboard.casa(3, 3)),
+                     tabuleiro.getPeca(4, 4).destinos(tabuleiro));
+    }
+}
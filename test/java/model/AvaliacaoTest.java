@@ -0,0 +1,94 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Testes da avaliação estática incremental.
+ *
+ * · As somas mantidas pelo Tabuleiro são comparadas com um cálculo do zero.
+ * · Simetria, material e fase da partida.
+ */
+public class AvaliacaoTest {
+
+    /* referência: soma casa a casa */
+    private static int[] doZero(Tabuleiro t) {
+        int meio = 0, fim = 0, fase = 0;
+        for (int casa = 0; casa < 64; casa++) {
+            Peca p = t.getPeca(casa);
+            if (p == null) continue;
+            meio += Avaliacao.meioJogo(p.getIndice(), casa);
+            fim += Avaliacao.finalJogo(p.getIndice(), casa);
+            fase += Avaliacao.fase(p.getTipo());
+        }
+        return new int[] { meio, fim, fase };
+    }
+
+    private static int[] incremental(Tabuleiro t) {
+        return new int[] { t.getMeioJogo(), t.getFinalJogo(), t.getFase() };
+    }
+
+    /*============================================================
+     *  A. POSIÇÃO INICIAL
+     *==========================================================*/
+
+    @Test public void posicaoInicial_equilibrada() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        assertEquals(0, Avaliacao.avaliar(tabuleiro));
+        assertEquals(Avaliacao.FASE_TOTAL, tabuleiro.getFase());
+    }
+
+    /*============================================================
+     *  B. ATUALIZAÇÃO INCREMENTAL
+     *==========================================================*/
+
+    @Test public void incremental_igualAoCalculoDoZero() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        Random r = new Random(11);
+        int[] lances = new int[Movimento.MAX_LANCES];
+        int feitos = 0;
+        for (; feitos < 150; feitos++) {
+            int n = tabuleiro.gerarMovimentos(tabuleiro.getVez(), lances);
+            if (n == 0 || tabuleiro.getBitboard(Peca.REI, Cor.BRANCO) == 0
+                       || tabuleiro.getBitboard(Peca.REI, Cor.PRETO) == 0) break;
+            tabuleiro.fazerLance(lances[r.nextInt(n)]);
+            assertArrayEquals(doZero(tabuleiro), incremental(tabuleiro));
+        }
+        while (feitos-- > 0) tabuleiro.desfazerLance();
+        assertArrayEquals(doZero(new Tabuleiro()), incremental(tabuleiro));
+    }
+
+    @Test public void limpar_zeraSomas() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+        assertArrayEquals(new int[3], incremental(tabuleiro));
+    }
+
+    /*============================================================
+     *  C. MATERIAL, LADO A JOGAR E FASE
+     *==========================================================*/
+
+    @Test public void rainhaAMais_favoreceQuemTem() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Rei(Cor.BRANCO, 7, 4), 7, 4);
+        tabuleiro.moverPeca(new Rei(Cor.PRETO, 0, 4), 0, 4);
+        tabuleiro.moverPeca(new Rainha(Cor.BRANCO, 4, 3), 4, 3);
+
+        int brancas = Avaliacao.avaliar(tabuleiro);
+        assertTrue(brancas > 800);
+        tabuleiro.passarVez();
+        assertEquals(-brancas, Avaliacao.avaliar(tabuleiro));
+        assertEquals(4, tabuleiro.getFase());
+    }
+
+    @Test public void finalDePartida_usaTabelaDeFinalParaORei() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Rei(Cor.BRANCO, 4, 4), 4, 4);   // rei centralizado
+        tabuleiro.moverPeca(new Rei(Cor.PRETO, 0, 0), 0, 0);    // rei no canto
+        assertEquals(0, tabuleiro.getFase());
+        assertTrue(Avaliacao.avaliar(tabuleiro) > 0);
+    }
+}
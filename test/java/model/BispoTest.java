@@ -110,7 +110,7 @@ public class BispoTest {
         tabuleiro.moverPeca(alvo, 5, 1);
 
         assertTrue(bispoBranco.podeMoverPara(tabuleiro, 5, 1));
-        tabuleiro.moverPeca(bispoBranco, 5, 1);
+        bispoBranco = tabuleiro.moverPeca(bispoBranco, 5, 1);
 
         assertEquals(bispoBranco, tabuleiro.getPeca(5, 1));
         assertNull(tabuleiro.getPeca(3, 3));
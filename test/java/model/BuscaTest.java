@@ -0,0 +1,211 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes da busca alfa-beta com aprofundamento iterativo.
+ *
+ * · Posições montadas em tabuleiro limpo, como nos testes das peças.
+ * · Verificam táticas simples, respeito ao orçamento de tempo e a
+ *   compatibilidade do lance escolhido com a façade.
+ */
+public class BuscaTest {
+
+    private Tabuleiro tabuleiro;
+
+    @Before
+    public void setUp() {
+        tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+    }
+
+    private void colocar(Peca p) {
+        tabuleiro.moverPeca(p, p.getLinha(), p.getColuna());
+    }
+
+    /*============================================================
+     *  A. TÁTICAS
+     *==========================================================*/
+
+    @Test public void encontraMateEmUm() {
+        colocar(new Rei(Cor.PRETO, 0, 7));      // h8
+        colocar(new Peao(Cor.PRETO, 1, 6));     // g7
+        colocar(new Peao(Cor.PRETO, 1, 7));     // h7
+        colocar(new Torre(Cor.BRANCO, 7, 0));   // a1
+        colocar(new Rei(Cor.BRANCO, 7, 6));     // g1
+
+        Busca busca = new Busca(tabuleiro);
+        int lance = busca.melhorLance(5_000, 3);
+        assertEquals("a1a8", Movimento.paraTexto(lance));
+        assertEquals(Busca.MATE - 1, busca.getPontuacao());
+    }
+
+    @Test public void capturaRainhaIndefesa() {
+        colocar(new Rei(Cor.BRANCO, 7, 4));
+        colocar(new Rei(Cor.PRETO, 0, 4));
+        colocar(new Cavalo(Cor.BRANCO, 5, 2));  // c3
+        colocar(new Rainha(Cor.PRETO, 3, 3));   // d5
+
+        int lance = new Busca(tabuleiro).melhorLance(5_000, 3);
+        assertEquals("c3d5", Movimento.paraTexto(lance));
+    }
+
+    @Test public void quiescencia_naoCapturaPeaoDefendidoComRainha() {
+        colocar(new Rei(Cor.BRANCO, 7, 6));     // g1
+        colocar(new Rei(Cor.PRETO, 0, 6));      // g8
+        colocar(new Rainha(Cor.BRANCO, 5, 3));  // d3
+        colocar(new Peao(Cor.PRETO, 3, 3));     // d5
+        colocar(new Peao(Cor.PRETO, 2, 4));     // e6 defende d5
+
+        // a profundidade 1 sem quiescência veria só o peão ganho
+        int lance = new Busca(tabuleiro).melhorLance(5_000, 1);
+        assertNotEquals("d3d5", Movimento.paraTexto(lance));
+    }
+
+    @Test public void semLancesLegais_devolveNenhum() {
+        colocar(new Rei(Cor.BRANCO, 7, 0));     // a1
+        colocar(new Rainha(Cor.PRETO, 5, 1));   // b3
+        colocar(new Rei(Cor.PRETO, 5, 2));      // c3 – afogamento
+
+        assertEquals(Movimento.NENHUM, new Busca(tabuleiro).melhorLance(1_000));
+    }
+
+    /*============================================================
+     *  B. TEMPO E ESTATÍSTICAS
+     *==========================================================*/
+
+    @Test public void respeitaOrcamento_eReportaEstatisticas() {
+        Busca busca = new Busca(new Tabuleiro());
+        long inicio = System.currentTimeMillis();
+        int lance = busca.melhorLance(200);
+        long decorrido = System.currentTimeMillis() - inicio;
+
+        assertNotEquals(Movimento.NENHUM, lance);
+        assertTrue("demorou " + decorrido + " ms", decorrido < 1_000);
+        assertTrue(busca.getProfundidadeAlcancada() >= 1);
+        assertTrue(busca.getNos() > 0);
+        assertTrue(busca.getNosPorSegundo() > 0);
+        assertEquals(lance, busca.getVariacaoPrincipal()[0]);
+    }
+
+    @Test public void ordenacao_reportaTaxaDeCortesNoPrimeiroLance() {
+        Busca busca = new Busca(new Tabuleiro());
+        busca.melhorLance(60_000, 5);
+        double taxa = busca.getTaxaCortePrimeiroLance();
+        assertTrue("taxa " + taxa, taxa > 0.5 && taxa <= 1.0);
+    }
+
+    @Test public void naoAlteraTabuleiroOriginal() {
+        Tabuleiro inicial = new Tabuleiro();
+        long chave = inicial.getChave();
+        new Busca(inicial).melhorLance(50);
+        assertEquals(chave, inicial.getChave());
+    }
+
+    /*============================================================
+     *  C. INTEGRAÇÃO COM A FAÇADE
+     *==========================================================*/
+
+    @Test public void jogadaDoComputador_aceitaPelaFacade() {
+        JogoXadrez jogo = new JogoXadrez();
+        for (int i = 0; i < 6; i++)
+            assertTrue(jogo.jogadaDoComputador(30));
+    }
+
+    @Test public void jogadaDoComputador_jogaASubpromocaoEscolhida() {
+        /* g8=D não dá mate; g8=C dá */
+        JogoXadrez jogo = new JogoXadrez("8/Q5P1/6pk/6pp/8/8/8/K7 w - - 0 1");
+        assertTrue(jogo.jogadaDoComputador(500));
+        assertEquals("6N1/Q7/6pk/6pp/8/8/8/K7 b - - 0 1", jogo.getFen());
+        assertEquals(EstadoPartida.XEQUE_MATE, jogo.getEstado());
+    }
+
+    @Test public void jogadaDoComputador_reaproveitaATabela() {
+        JogoXadrez jogo = new JogoXadrez();
+        assertNull(jogo.getTabela());
+        assertTrue(jogo.jogadaDoComputador(20));
+        TabelaTransposicao tabela = jogo.getTabela();
+        assertNotNull(tabela);
+        assertTrue(jogo.jogadaDoComputador(20));
+        assertSame(tabela, jogo.getTabela());
+    }
+
+    /*============================================================
+     *  D. BUSCA PARALELA (LAZY SMP)
+     *==========================================================*/
+
+    @Test public void paralela_encontraMate_eReportaNosPorThread() {
+        colocar(new Rei(Cor.PRETO, 0, 7));
+        colocar(new Peao(Cor.PRETO, 1, 6));
+        colocar(new Peao(Cor.PRETO, 1, 7));
+        colocar(new Torre(Cor.BRANCO, 7, 0));
+        colocar(new Rei(Cor.BRANCO, 7, 6));
+
+        BuscaParalela busca = new BuscaParalela(tabuleiro, 3, new TabelaTransposicao(1));
+        assertEquals("a1a8", Movimento.paraTexto(busca.melhorLance(5_000, 4)));
+        assertEquals(3, busca.getThreads());
+        assertEquals(3, busca.getNosPorThread().length);
+        assertEquals(busca.getNos(), busca.getNosPorThread()[0] + busca.getNosPorThread()[1]
+                                   + busca.getNosPorThread()[2]);
+    }
+
+    @Test public void paralela_respeitaOrcamento() {
+        BuscaParalela busca = new BuscaParalela(new Tabuleiro(), 2, new TabelaTransposicao(4));
+        long inicio = System.currentTimeMillis();
+        int lance = busca.melhorLance(150);
+        assertTrue(System.currentTimeMillis() - inicio < 1_500);
+        assertNotEquals(Movimento.NENHUM, lance);
+        assertTrue(busca.getProfundidadeAlcancada() >= 1);
+    }
+
+    /*============================================================
+     *  E. PODAS SELETIVAS
+     *==========================================================*/
+
+    @Test public void podas_reduzemNosAteAMesmaProfundidade() {
+        Busca completa = new Busca(new Tabuleiro());
+        completa.setPodas(0);
+        completa.melhorLance(60_000, 5);
+
+        Busca podada = new Busca(new Tabuleiro());
+        podada.melhorLance(60_000, 5);
+
+        assertEquals(Busca.TODAS_PODAS, podada.getPodas());
+        assertEquals(5, podada.getProfundidadeAlcancada());
+        assertTrue(podada.getNos() + " >= " + completa.getNos(), podada.getNos() < completa.getNos());
+    }
+
+    @Test public void podas_cadaUmaPreservaTaticas() {
+        for (int podas : new int[] { Busca.LANCE_NULO, Busca.REDUCAO_TARDIA, Busca.FUTILIDADE, Busca.TODAS_PODAS }) {
+            setUp();
+            colocar(new Rei(Cor.PRETO, 0, 7));      // h8
+            colocar(new Peao(Cor.PRETO, 1, 6));     // g7
+            colocar(new Peao(Cor.PRETO, 1, 7));     // h7
+            colocar(new Torre(Cor.BRANCO, 7, 0));   // a1
+            colocar(new Rei(Cor.BRANCO, 7, 6));     // g1
+            colocar(new Cavalo(Cor.PRETO, 4, 4));   // e4
+
+            Busca busca = new Busca(tabuleiro);
+            busca.setPodas(podas);
+            assertEquals("podas " + podas, "a1a8", Movimento.paraTexto(busca.melhorLance(10_000, 5)));
+        }
+    }
+
+    @Test public void lanceNulo_desligadoSoComReisEPeoes() {
+        // só reis e peões (zugzwang comum): o lance nulo não pode ser tentado
+        colocar(new Rei(Cor.BRANCO, 5, 4));     // e3
+        colocar(new Peao(Cor.BRANCO, 4, 3));    // d4
+        colocar(new Rei(Cor.PRETO, 3, 4));      // e5
+
+        Busca semPodas = new Busca(tabuleiro);
+        semPodas.setPodas(0);
+        int esperado = semPodas.melhorLance(10_000, 6);
+
+        Busca nulo = new Busca(tabuleiro);
+        nulo.setPodas(Busca.LANCE_NULO);
+        assertEquals(esperado, nulo.melhorLance(10_000, 6));
+        assertEquals(semPodas.getNos(), nulo.getNos());
+    }
+}
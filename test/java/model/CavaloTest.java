@@ -106,7 +106,7 @@ public class CavaloTest {
         Peao peaoPreto = new Peao(Cor.PRETO, 5, 4); // E6
         tabuleiro.moverPeca(peaoPreto, 5, 4);
         assertTrue(cavaloBranco.podeMoverPara(tabuleiro, 5, 4));
-        tabuleiro.moverPeca(cavaloBranco, 5, 4);
+        cavaloBranco = tabuleiro.moverPeca(cavaloBranco, 5, 4);
 
         assertEquals("Cavalo deve estar em E6 após a captura", cavaloBranco, tabuleiro.getPeca(5, 4));
         assertNull("Casa de origem D4 deve estar vazia", tabuleiro.getPeca(3, 3));
@@ -0,0 +1,110 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+/**
+ * Testes da leitura e escrita de FEN.
+ *
+ * · A posição lida tem de ter a mesma chave de Zobrist que a alcançada jogando.
+ */
+public class FenTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /*============================================================
+     *  A. IDA E VOLTA
+     *==========================================================*/
+
+    @Test public void inicial_igualAoTabuleiroNovo() {
+        Tabuleiro lido = new Tabuleiro(Fen.INICIAL);
+        Tabuleiro novo = new Tabuleiro();
+        assertArrayEquals(novo.retrato(), lido.retrato());
+        assertEquals(novo.getChave(), lido.getChave());
+        assertEquals(Fen.INICIAL, novo.paraFen());
+    }
+
+    @Test public void idaEVolta_preservaTodosOsCampos() {
+        String[] fens = {
+            KIWIPETE,
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbqkbnr/pp1ppppp/8/2pP4/8/8/PPP1PPPP/RNBQKBNR w KQkq c6 0 3",
+            "4k3/8/8/8/8/8/8/4K3 b - - 37 81",
+        };
+        for (String fen : fens) assertEquals(fen, new Tabuleiro(fen).paraFen());
+    }
+
+    @Test public void lances_atualizamRelogioENumero() {
+        Tabuleiro t = new Tabuleiro();
+        for (String l : new String[] { "e2e4", "c7c5", "g1f3", "b8c6" }) t.jogar(Movimento.deTexto(l));
+        assertEquals("r1bqkbnr/pp1ppppp/2n5/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3", t.paraFen());
+        assertEquals(t.getChave(), new Tabuleiro(t.paraFen()).getChave());
+    }
+
+    @Test public void enPassantSemCaptura_eRoqueSemTorre_saoDescartados() {
+        Tabuleiro t = new Tabuleiro("rnbqkbn1/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertEquals(-1, t.getColunaEnPassant());
+        assertEquals(Tabuleiro.ROQUE_BRANCO_CURTO | Tabuleiro.ROQUE_BRANCO_LONGO | Tabuleiro.ROQUE_PRETO_LONGO,
+                     t.getDireitosRoque());
+
+        Tabuleiro jogado = new Tabuleiro();
+        jogado.jogar(Movimento.deTexto("e2e4"));
+        assertEquals(jogado.getChave(),
+                     new Tabuleiro("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1").getChave());
+    }
+
+    /*============================================================
+     *  B. FONTES DE TEXTO
+     *==========================================================*/
+
+    @Test public void trechoDeBytes_eDeTexto() {
+        byte[] arquivo = ("lixo\n" + KIWIPETE + "\noutra linha").getBytes(StandardCharsets.US_ASCII);
+        Tabuleiro t = new Tabuleiro();
+        Fen.ler(arquivo, 5, 5 + KIWIPETE.length(), t);
+        assertEquals(KIWIPETE, t.paraFen());
+
+        StringBuilder sb = new StringBuilder("position fen ").append(KIWIPETE).append(" moves e1g1");
+        Fen.ler(sb, 13, sb.indexOf(" moves"), t);
+        assertEquals(KIWIPETE, t.paraFen());
+    }
+
+    @Test public void epd_ignoraOperacoes() {
+        Tabuleiro t = new Tabuleiro("2rr3k/pp3pp1/1nnqbN1p/3pN3/2pP4/2P3Q1/PPB4P/R4RK1 w - - bm Qg6; id \"WAC.001\";");
+        assertEquals("2rr3k/pp3pp1/1nnqbN1p/3pN3/2pP4/2P3Q1/PPB4P/R4RK1 w - - 0 1", t.paraFen());
+    }
+
+    @Test public void jogoXadrez_lerEEscrever() {
+        JogoXadrez jogo = new JogoXadrez(KIWIPETE);
+        assertEquals(KIWIPETE, jogo.getFen());
+        assertTrue(jogo.selecionaPeca(7, 4));
+        assertTrue(jogo.selecionaCasa(7, 6));           // O-O
+        assertEquals("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R4RK1 b kq - 1 1", jogo.getFen());
+    }
+
+    /*============================================================
+     *  C. ERROS
+     *==========================================================*/
+
+    @Test public void fenInvalida_lancaExcecao() {
+        String[] invalidas = {
+            "",
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",            // sete fileiras
+            "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",   // fileira longa
+            "rnbqkbnr/ppppxppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",   // peça desconhecida
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",   // lado a jogar
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",   // roque
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4 0 1",  // en passant
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w",              // campos faltando
+        };
+        for (String fen : invalidas) {
+            try {
+                new Tabuleiro(fen);
+                fail("aceitou: " + fen);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("FEN inválida"));
+            }
+        }
+    }
+}
@@ -68,7 +68,7 @@ public class JogoXadrezTest {
         assertTrue(jogo.selecionaPeca(6, 1));
         assertTrue(jogo.selecionaCasa(4, 1));    // B4
 
-        assertEquals(peao, tab.getPeca(4, 1));
+        assertSame(Peca.criar(Peca.PEAO, Cor.BRANCO, 4, 1), tab.getPeca(4, 1));
         assertNull(tab.getPeca(6, 1));
     }
 
@@ -112,7 +112,7 @@ public class JogoXadrezTest {
         assertTrue(jogo.selecionaPeca(3, 3));
         assertTrue(jogo.selecionaCasa(5, 3));     // captura
 
-        assertEquals(rainha, tab.getPeca(5, 3));
+        assertSame(Peca.criar(Peca.RAINHA, Cor.BRANCO, 5, 3), tab.getPeca(5, 3));
         assertNull(tab.getPeca(3, 3));
     }
 
@@ -147,4 +147,222 @@ public class JogoXadrezTest {
     public void moveSemPecaSelecionada_falha() {
         assertFalse(jogo.selecionaCasa(4, 0));
     }
+
+    /*============================================================
+     *  H. LEGALIDADE: XEQUE E CRAVADA
+     *==========================================================*/
+    @Test
+    public void pecaCravada_soMoveNaLinhaDaCravada() {
+        tab.moverPeca(new Rei  (Cor.BRANCO, 7, 4), 7, 4); // E1
+        tab.moverPeca(new Torre(Cor.BRANCO, 5, 4), 5, 4); // E3, cravada
+        tab.moverPeca(new Torre(Cor.PRETO , 1, 4), 1, 4); // E7
+        tab.moverPeca(new Rei  (Cor.PRETO , 0, 0), 0, 0); // A8
+
+        assertTrue (jogo.selecionaPeca(5, 4));
+        assertFalse(jogo.selecionaCasa(5, 0));   // sai da coluna: deixaria o rei em xeque
+        assertTrue (jogo.selecionaPeca(5, 4));
+        assertTrue (jogo.selecionaCasa(1, 4));   // captura a cravadora
+    }
+
+    @Test
+    public void reiNaoEntraEmXeque() {
+        tab.moverPeca(new Rei  (Cor.BRANCO, 7, 4), 7, 4); // E1
+        tab.moverPeca(new Torre(Cor.PRETO , 0, 3), 0, 3); // D8
+        tab.moverPeca(new Rei  (Cor.PRETO , 0, 7), 0, 7); // H8
+
+        assertTrue (jogo.selecionaPeca(7, 4));
+        assertFalse(jogo.selecionaCasa(7, 3));   // D1, atacada pela torre
+        assertTrue (jogo.selecionaPeca(7, 4));
+        assertTrue (jogo.selecionaCasa(7, 5));   // F1
+    }
+
+    @Test
+    public void emXeque_soLancesQueResolvem() {
+        tab.moverPeca(new Rei   (Cor.BRANCO, 7, 4), 7, 4); // E1
+        tab.moverPeca(new Cavalo(Cor.BRANCO, 7, 6), 7, 6); // G1
+        tab.moverPeca(new Torre (Cor.PRETO , 2, 4), 2, 4); // E6, xeque
+        tab.moverPeca(new Rei   (Cor.PRETO , 0, 0), 0, 0); // A8
+
+        assertEquals(EstadoPartida.XEQUE, jogo.getEstado());
+        assertTrue (jogo.selecionaPeca(7, 6));
+        assertFalse(jogo.selecionaCasa(5, 5));   // F3 não bloqueia
+        assertTrue (jogo.selecionaPeca(7, 6));
+        assertTrue (jogo.selecionaCasa(6, 4));   // E2 bloqueia
+        assertEquals(EstadoPartida.EM_ANDAMENTO, jogo.getEstado());
+    }
+
+    /*============================================================
+     *  I. FIM DE PARTIDA
+     *==========================================================*/
+    @Test
+    public void xequeMate_detectado() {
+        tab.moverPeca(new Rei  (Cor.PRETO , 0, 7), 0, 7); // H8
+        tab.moverPeca(new Peao (Cor.PRETO , 1, 6), 1, 6); // G7
+        tab.moverPeca(new Peao (Cor.PRETO , 1, 7), 1, 7); // H7
+        tab.moverPeca(new Torre(Cor.BRANCO, 7, 0), 7, 0); // A1
+        tab.moverPeca(new Rei  (Cor.BRANCO, 7, 6), 7, 6); // G1
+
+        assertTrue(jogo.selecionaPeca(7, 0));
+        assertTrue(jogo.selecionaCasa(0, 0));    // Ta8#
+        assertEquals(EstadoPartida.XEQUE_MATE, jogo.getEstado());
+        assertTrue(jogo.getEstado().terminal());
+        assertFalse(jogo.selecionaPeca(0, 7) && jogo.selecionaCasa(0, 6));
+    }
+
+    @Test
+    public void depoisDoMate_lanceRecusado() {
+        tab.moverPeca(new Rei  (Cor.PRETO , 0, 7), 0, 7); // H8
+        tab.moverPeca(new Peao (Cor.PRETO , 1, 6), 1, 6); // G7
+        tab.moverPeca(new Peao (Cor.PRETO , 1, 7), 1, 7); // H7
+        tab.moverPeca(new Torre(Cor.BRANCO, 7, 0), 7, 0); // A1
+        tab.moverPeca(new Rei  (Cor.BRANCO, 7, 6), 7, 6); // G1
+        jogar(7, 0, 0, 0);                                // Ta8#
+
+        String fen = jogo.getFen();
+        assertTrue(jogo.selecionaPeca(1, 6));
+        assertFalse(jogo.selecionaCasa(2, 6));    // g7-g6 não tira o rei do mate
+        assertFalse(jogo.jogadaDoComputador(50));
+        assertEquals(fen, jogo.getFen());
+    }
+
+    @Test
+    public void afogamento_detectado() {
+        tab.moverPeca(new Rei   (Cor.PRETO , 0, 0), 0, 0); // A8
+        tab.moverPeca(new Rei   (Cor.BRANCO, 2, 1), 2, 1); // B6
+        tab.moverPeca(new Rainha(Cor.BRANCO, 3, 2), 3, 2); // C5
+
+        assertTrue(jogo.selecionaPeca(3, 2));
+        assertTrue(jogo.selecionaCasa(1, 2));    // Dc7: preto sem lances, sem xeque
+        assertEquals(EstadoPartida.AFOGAMENTO, jogo.getEstado());
+    }
+
+    /*============================================================
+     *  J. DESTINOS LEGAIS DA PEÇA SELECIONADA
+     *==========================================================*/
+    private static long bit(int linha, int coluna) {
+        return 1L << (linha * 8 + coluna);
+    }
+
+    @Test
+    public void destinosLegais_cavaloNaPosicaoInicial() {
+        tab.inicializar();
+        assertEquals(0L, jogo.getDestinosLegais());
+
+        assertTrue(jogo.selecionaPeca(7, 6));    // G1
+        assertEquals(bit(5, 5) | bit(5, 7), jogo.getDestinosLegais());
+        assertTrue (jogo.destinoLegal(5, 5));
+        assertFalse(jogo.destinoLegal(6, 4));    // casa da própria peça
+        assertFalse(jogo.destinoLegal(8, 0));
+
+        assertTrue(jogo.selecionaCasa(5, 5));
+        assertEquals(0L, jogo.getDestinosLegais());
+    }
+
+    @Test
+    public void destinosLegais_excluemLancesIlegais() {
+        tab.moverPeca(new Rei   (Cor.BRANCO, 7, 4), 7, 4); // E1
+        tab.moverPeca(new Rainha(Cor.BRANCO, 6, 4), 6, 4); // E2, cravada
+        tab.moverPeca(new Torre (Cor.PRETO , 0, 4), 0, 4); // E8
+        tab.moverPeca(new Rei   (Cor.PRETO , 0, 0), 0, 0); // A8
+
+        assertTrue(jogo.selecionaPeca(6, 4));
+        long esperado = 0L;
+        for (int l = 0; l < 6; l++) esperado |= bit(l, 4);   // E8 (captura) até E3
+        assertEquals(esperado, jogo.getDestinosLegais());
+
+        /* a máscara coincide com o que selecionaCasa aceita */
+        for (int l = 0; l < 8; l++)
+            for (int c = 0; c < 8; c++)
+                assertEquals(jogo.destinoLegal(l, c), (esperado & bit(l, c)) != 0);
+    }
+
+    /*============================================================
+     *  K. EMPATES
+     *==========================================================*/
+    private void jogar(int l0, int c0, int l1, int c1) {
+        assertTrue(jogo.selecionaPeca(l0, c0));
+        assertTrue(jogo.selecionaCasa(l1, c1));
+    }
+
+    @Test
+    public void triplaRepeticao_empata() {
+        tab.inicializar();
+        for (int vez = 0; vez < 2; vez++) {
+            assertEquals(EstadoPartida.EM_ANDAMENTO, jogo.getEstado());
+            jogar(7, 6, 5, 5);   // Cg1-f3
+            jogar(0, 6, 2, 5);   // Cg8-f6
+            jogar(5, 5, 7, 6);   // Cf3-g1
+            jogar(2, 5, 0, 6);   // Cf6-g8
+        }
+        assertEquals(EstadoPartida.EMPATE_REPETICAO, jogo.getEstado());
+        assertTrue(jogo.getEstado().terminal());
+    }
+
+    @Test
+    public void depoisDaTriplaRepeticao_lanceRecusado() {
+        tab.inicializar();
+        for (int vez = 0; vez < 2; vez++) {
+            jogar(7, 6, 5, 5); jogar(0, 6, 2, 5); jogar(5, 5, 7, 6); jogar(2, 5, 0, 6);
+        }
+        String fen = jogo.getFen();
+        assertTrue(jogo.selecionaPeca(6, 4));
+        assertFalse(jogo.selecionaCasa(4, 4));    // e2-e4 depois do empate
+        assertFalse(jogo.jogadaDoComputador(50));
+        assertEquals(fen, jogo.getFen());
+    }
+
+    @Test
+    public void lanceDePeao_zeraContagemDeRepeticao() {
+        tab.inicializar();
+        jogar(7, 6, 5, 5); jogar(0, 6, 2, 5); jogar(5, 5, 7, 6); jogar(2, 5, 0, 6);
+        jogar(6, 0, 5, 0);   // a2-a3
+        jogar(1, 0, 2, 0);   // a7-a6
+        jogar(7, 6, 5, 5); jogar(0, 6, 2, 5); jogar(5, 5, 7, 6); jogar(2, 5, 0, 6);
+        assertEquals(EstadoPartida.EM_ANDAMENTO, jogo.getEstado());
+    }
+
+    @Test
+    public void regraDos50Lances_empata() {
+        /* 99 meios-lances sem captura nem peão vêm da FEN: registrá-los na mesma
+           posição faria dela uma tripla repetição, que encerra a partida antes */
+        jogo = new JogoXadrez("4k3/8/8/8/8/8/8/R3K3 w - - 99 60");
+        assertEquals(EstadoPartida.EM_ANDAMENTO, jogo.getEstado());
+
+        jogar(7, 0, 6, 0);   // Ta1-a2, o centésimo meio-lance
+        assertEquals(EstadoPartida.EMPATE_50_LANCES, jogo.getEstado());
+    }
+
+    /*============================================================
+     *  L. ROQUE E EN PASSANT
+     *==========================================================*/
+    @Test
+    public void roquePelaInterface_moveReiETorre() {
+        tab.inicializar();
+        jogar(6, 4, 4, 4);      // e4
+        jogar(1, 4, 3, 4);      // e5
+        jogar(7, 6, 5, 5);      // Cf3
+        jogar(0, 1, 2, 2);      // Cc6
+        jogar(7, 5, 4, 2);      // Bc4
+        jogar(0, 6, 2, 5);      // Cf6
+        jogar(7, 4, 7, 6);      // O-O
+
+        assertTrue(tab.getPeca(7, 6) instanceof Rei);
+        assertTrue(tab.getPeca(7, 5) instanceof Torre);
+        assertNull(tab.getPeca(7, 7));
+        assertEquals(Cor.PRETO, tab.getVez());
+    }
+
+    @Test
+    public void enPassantPelaInterface_capturaOPeaoAoLado() {
+        tab.inicializar();
+        jogar(6, 4, 4, 4);      // e4
+        jogar(1, 0, 2, 0);      // a6
+        jogar(4, 4, 3, 4);      // e5
+        jogar(1, 3, 3, 3);      // d5
+
+        assertTrue(jogo.selecionaPeca(3, 4));
+        assertTrue(jogo.destinoLegal(2, 3));
+        assertTrue(jogo.selecionaCasa(2, 3));
+        assertNull(tab.getPeca(3, 3));
+    }
 }
@@ -0,0 +1,191 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Testes do leitor de PGN.
+ *
+ * · Os arquivos são escritos num temporário e lidos pelo mapeamento de verdade.
+ */
+public class LeitorPgnTest {
+
+    /* Morphy x Duque de Brunswick e Conde Isouard, Paris 1858 */
+    private static final String OPERA =
+        "[Event \"Paris\"]\n[Site \"Paris FRA\"]\n[Result \"1-0\"]\n\n"
+      + "1. e4 e5 2. Nf3 d6 3. d4 Bg4 4. dxe5 Bxf3 5. Qxf3 dxe5 6. Bc4 Nf6 7. Qb3 Qe7\n"
+      + "8. Nc3 c6 9. Bg5 b5 10. Nxb5 cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8 13. Rxd7 Rxd7\n"
+      + "14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ Nxb8 17. Rd8# 1-0\n\n";
+    private static final String OPERA_FINAL = "1n1Rkb1r/p4ppp/4q3/4p1B1/4P3/8/PPP2PPP/2K5 b k - 1 17";
+
+    private final List<Path> temporarios = new ArrayList<>();
+
+    @After public void apagar() throws IOException {
+        for (Path p : temporarios) Files.deleteIfExists(p);
+    }
+
+    private Path arquivo(String texto) throws IOException {
+        Path p = Files.createTempFile("leitor", ".pgn");
+        temporarios.add(p);
+        Files.write(p, texto.getBytes(StandardCharsets.UTF_8));
+        return p;
+    }
+
+    /* FEN final e lances (em coordenadas) de cada partida, em ordem de posição no arquivo */
+    private static final class Coletor implements LeitorPgn.Receptor {
+        final List<String> partidas = new ArrayList<>();
+
+        @Override public synchronized void partida(long posicao, int[] lances, int quantidade, Tabuleiro posicaoFinal) {
+            StringBuilder sb = new StringBuilder(String.format("%012d ", posicao)).append(posicaoFinal.paraFen()).append(" |");
+            for (int i = 0; i < quantidade; i++) sb.append(' ').append(Movimento.paraTexto(lances[i]));
+            partidas.add(sb.toString());
+        }
+
+        List<String> ordenadas() {
+            List<String> l = new ArrayList<>(partidas);
+            Collections.sort(l);
+            return l;
+        }
+    }
+
+    private static String fen(String partida) {
+        return partida.substring(13, partida.indexOf(" |"));
+    }
+
+    /*============================================================
+     *  A. PARTIDAS
+     *==========================================================*/
+
+    @Test public void partidaCompleta_chegaAPosicaoFinal() throws IOException {
+        Coletor c = new Coletor();
+        LeitorPgn leitor = new LeitorPgn(arquivo(OPERA));
+        assertEquals(1, leitor.ler(c));
+        assertEquals(0, leitor.getErros());
+        assertEquals(33, leitor.getLances());
+        assertEquals(OPERA_FINAL, fen(c.partidas.get(0)));
+        assertTrue(c.partidas.get(0).contains(" e1c1 "));
+    }
+
+    @Test public void comentariosVariantesENags_saoIgnorados() throws IOException {
+        String pgn = "[Event \"x\"]\n\n"
+                   + "1. e4 {abre (com parênteses)} e5 $1 2. Nf3 (2. f4 exf4 (2... d5) 3. Nf3) Nc6 3. Bb5 ; fim de linha\n"
+                   + "% linha de escape\n"
+                   + "3... a6 4.Ba4!? Nf6?! *\n";
+        Coletor c = new Coletor();
+        LeitorPgn leitor = new LeitorPgn(arquivo(pgn));
+        assertEquals(1, leitor.ler(c));
+        assertEquals("r1bqkb1r/1ppp1ppp/p1n2n2/4p3/B3P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 2 5", fen(c.partidas.get(0)));
+    }
+
+    @Test public void tagFen_enPassantESubpromocao() throws IOException {
+        String pgn = "[Event \"final\"]\n[FEN \"4k3/1P6/8/3pP3/8/8/8/4K3 w - d6 0 2\"]\n[SetUp \"1\"]\n\n"
+                   + "2. exd6 Kd7 3. b8=N+ Kxd6 4. Nd7 Kxd7 1/2-1/2\n";
+        Coletor c = new Coletor();
+        assertEquals(1, new LeitorPgn(arquivo(pgn)).ler(c));
+        String p = c.partidas.get(0);
+        assertEquals("8/3k4/8/8/8/8/8/4K3 w - - 0 5", fen(p));
+        assertTrue(p.endsWith("| e5d6 e8d7 b7b8n d7d6 b8d7 d6d7"));
+    }
+
+    @Test public void roqueComZerosEDesambiguacao() throws IOException {
+        String pgn = "[Event \"x\"]\n\n1. Nf3 Nf6 2. g3 g6 3. Bg2 Bg7 4. 0-0 0-0 5. Nc3 Nc6 6. Nb1 Nb8 7. d3 d6 8. Nbd2 Nbd7 *\n";
+        Coletor c = new Coletor();
+        assertEquals(1, new LeitorPgn(arquivo(pgn)).ler(c));
+        assertEquals("r1bq1rk1/pppnppbp/3p1np1/8/8/3P1NP1/PPPNPPBP/R1BQ1RK1 w - - 2 9", fen(c.partidas.get(0)));
+    }
+
+    @Test public void arquivoComBomESemTags() throws IOException {
+        Coletor c = new Coletor();
+        assertEquals(1, new LeitorPgn(arquivo("\uFEFF1. e4 e5 *")).ler(c));
+        assertEquals("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 2", fen(c.partidas.get(0)));
+    }
+
+    /*============================================================
+     *  B. ERROS
+     *==========================================================*/
+
+    @Test public void lanceIlegal_descartaSoAPartida() throws IOException {
+        String pgn = OPERA + "[Event \"ruim\"]\n\n1. e4 e5 2. Ke3 Nc6 *\n\n" + OPERA;
+        Coletor c = new Coletor();
+        LeitorPgn leitor = new LeitorPgn(arquivo(pgn));
+        assertEquals(2, leitor.ler(c));
+        assertEquals(1, leitor.getErros());
+        assertTrue(leitor.getPrimeiroErro(), leitor.getPrimeiroErro().contains("Ke3"));
+        for (String p : c.partidas) assertEquals(OPERA_FINAL, fen(p));
+    }
+
+    @Test public void lanceAmbiguo_eErro() throws IOException {
+        /* os cavalos de b1 e f3 podem ir a d2 */
+        LeitorPgn leitor = new LeitorPgn(arquivo("[Event \"x\"]\n\n1. d4 a6 2. Nf3 a5 3. Nbd2 *\n"));
+        assertEquals(1, leitor.ler(new Coletor()));
+        assertEquals(0, leitor.getErros());
+
+        leitor = new LeitorPgn(arquivo("[Event \"x\"]\n\n1. d4 a6 2. Nf3 a5 3. Nd2 *\n"));
+        assertEquals(0, leitor.ler(new Coletor()));
+        assertEquals(1, leitor.getErros());
+    }
+
+    @Test public void fenInvalida_eErro() throws IOException {
+        String pgn = "[Event \"x\"]\n[FEN \"8/8/8 w - - 0 1\"]\n\n1. e4 *\n\n" + OPERA;
+        LeitorPgn leitor = new LeitorPgn(arquivo(pgn));
+        assertEquals(1, leitor.ler(new Coletor()));
+        assertEquals(1, leitor.getErros());
+        assertTrue(leitor.getPrimeiroErro().contains("FEN inválida"));
+    }
+
+    /*============================================================
+     *  C. SEGMENTOS E PARALELO
+     *==========================================================*/
+
+    @Test public void segmentosPequenos_mesmoResultado() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) sb.append(OPERA).append("[Event \"r\"]\n\n1. d4 d5 2. c4 e6 3. Nc3 Nf6 0-1\n\n");
+        Path p = arquivo(sb.toString());
+
+        Coletor inteiro = new Coletor();
+        LeitorPgn um = new LeitorPgn(p);
+        assertEquals(100, um.ler(inteiro));
+
+        Coletor partido = new Coletor();
+        LeitorPgn varios = new LeitorPgn(p, 700);
+        assertEquals(100, varios.ler(partido));
+        assertEquals(inteiro.partidas, partido.partidas);
+        assertEquals(um.getLances(), varios.getLances());
+    }
+
+    @Test public void paralelo_igualAoSequencial() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append(OPERA);
+            if (i % 7 == 0) sb.append("[Event \"ruim\"]\n\n1. e4 e5 2. e5 *\n\n");
+        }
+        Path p = arquivo(sb.toString());
+
+        Coletor sequencial = new Coletor();
+        LeitorPgn s = new LeitorPgn(p);
+        s.ler(sequencial);
+
+        Coletor paralelo = new Coletor();
+        LeitorPgn l = new LeitorPgn(p, 1000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(200, l.lerParalelo(pool, paralelo));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(s.getErros(), l.getErros());
+        assertEquals(29, l.getErros());
+        assertEquals(s.getLances(), l.getLances());
+        assertEquals(s.getPrimeiroErro(), l.getPrimeiroErro());
+        assertEquals(sequencial.ordenadas(), paralelo.ordenadas());
+    }
+}
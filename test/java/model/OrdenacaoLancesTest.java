@@ -0,0 +1,106 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes da ordenação de lances.
+ *
+ * · Capturas por MVV-LVA, lance da tabela primeiro, matadores e histórico.
+ */
+public class OrdenacaoLancesTest {
+
+    private Tabuleiro tabuleiro;
+    private OrdenacaoLances ordenacao;
+    private int[] lances;
+    private int n;
+
+    @Before
+    public void setUp() {
+        tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+        ordenacao = new OrdenacaoLances();
+        lances = new int[Movimento.MAX_LANCES];
+    }
+
+    private void colocar(Peca p) {
+        tabuleiro.moverPeca(p, p.getLinha(), p.getColuna());
+    }
+
+    private int lance(String texto) {
+        for (int i = 0; i < n; i++)
+            if (Movimento.paraTexto(lances[i]).equals(texto)) return lances[i];
+        throw new AssertionError("lance ausente: " + texto);
+    }
+
+    private String[] ordenados(int lanceTabela) {
+        ordenacao.pontuar(tabuleiro, lances, n, 0, lanceTabela);
+        String[] r = new String[n];
+        for (int i = 0; i < n; i++) r[i] = Movimento.paraTexto(ordenacao.proximo(lances, n, i, 0));
+        return r;
+    }
+
+    /*============================================================
+     *  A. CAPTURAS (MVV-LVA)
+     *==========================================================*/
+
+    @Test public void vitimaMaisValiosaPrimeiro_depoisAtacanteMenosValioso() {
+        colocar(new Torre(Cor.BRANCO, 7, 3));    // d1
+        colocar(new Peao(Cor.BRANCO, 4, 2));     // c4
+        colocar(new Cavalo(Cor.PRETO, 3, 3));    // d5
+        colocar(new Bispo(Cor.PRETO, 3, 1));     // b5
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+
+        String[] ordem = ordenados(Movimento.NENHUM);
+        assertEquals("c4b5", ordem[0]);          // bispo (vítima mais valiosa)
+        assertEquals("c4d5", ordem[1]);          // cavalo capturado pelo peão
+        assertEquals("d1d5", ordem[2]);          // cavalo capturado pela torre
+    }
+
+    @Test public void enPassant_eCapturaDePeao() {
+        tabuleiro = new Tabuleiro("7k/1P6/8/3pP3/8/8/8/K7 w - d6 0 1");
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        String[] ordem = ordenados(Movimento.NENHUM);
+        assertEquals("e5d6", ordem[0]);          // captura antes da promoção a rainha
+        assertEquals("b7b8q", ordem[1]);
+    }
+
+    /*============================================================
+     *  B. TABELA, MATADORES E HISTÓRICO
+     *==========================================================*/
+
+    @Test public void lanceDaTabelaPrimeiro() {
+        tabuleiro = new Tabuleiro();
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        assertEquals("g1f3", ordenados(lance("g1f3"))[0]);
+    }
+
+    @Test public void matadorAntesDosQuietos() {
+        tabuleiro = new Tabuleiro();
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        ordenacao.registrarCorte(tabuleiro, lance("h2h3"), 3, 0, 4);
+        assertEquals("h2h3", ordenados(Movimento.NENHUM)[0]);
+    }
+
+    @Test public void historicoOrdenaQuietosDeOutrosPlies() {
+        tabuleiro = new Tabuleiro();
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        ordenacao.registrarCorte(tabuleiro, lance("a2a3"), 5, 7, 2);
+        ordenacao.registrarCorte(tabuleiro, lance("b1c3"), 5, 7, 6);
+        String[] ordem = ordenados(Movimento.NENHUM);       // ply 0: sem matadores
+        assertEquals("b1c3", ordem[0]);
+        assertEquals("a2a3", ordem[1]);
+    }
+
+    @Test public void taxaDeCortesNoPrimeiroLance() {
+        tabuleiro = new Tabuleiro();
+        n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        ordenacao.registrarCorte(tabuleiro, lances[0], 0, 1, 1);
+        ordenacao.registrarCorte(tabuleiro, lances[1], 0, 1, 1);
+        ordenacao.registrarCorte(tabuleiro, lances[2], 4, 1, 1);
+        ordenacao.registrarCorte(tabuleiro, lances[3], 0, 1, 1);
+        assertEquals(4, ordenacao.getCortes());
+        assertEquals(0.75, ordenacao.getTaxaCortePrimeiroLance(), 1e-9);
+    }
+}
@@ -163,7 +163,7 @@ public class PeaoTest {
         tabuleiro.moverPeca(alvo, 5, 4);
 
         assertTrue(peaoBranco.podeMoverPara(tabuleiro, 5, 4));
-        tabuleiro.moverPeca(peaoBranco, 5, 4);
+        peaoBranco = tabuleiro.moverPeca(peaoBranco, 5, 4);
 
         assertEquals(peaoBranco, tabuleiro.getPeca(5, 4));
         assertNull(tabuleiro.getPeca(6, 3));
@@ -171,7 +171,7 @@ public class PeaoTest {
 
     @Test public void avançoAtualizaCoordenadas() { // D2 → D3
         assertTrue(peaoBranco.podeMoverPara(tabuleiro, 5, 3));
-        tabuleiro.moverPeca(peaoBranco, 5, 3);
+        peaoBranco = tabuleiro.moverPeca(peaoBranco, 5, 3);
 
         assertEquals(5, peaoBranco.getLinha());
         assertEquals(3, peaoBranco.getColuna());
@@ -0,0 +1,92 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Testes de perft a partir da posição inicial de Tabuleiro.inicializar.
+ *
+ * · Os valores esperados são os números publicados para a posição inicial
+ *   (até a profundidade 4 não há roque, en passant nem promoção; a 5 já
+ *   tem en passant).
+ */
+public class PerftTest {
+
+    private static final long[] ESPERADO = { 1, 20, 400, 8902, 197281 };
+
+    /* posições 2 (Kiwipete: roque, en passant, cravadas) e 3 (final de torres) do wiki de programação de xadrez */
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String FINAL_TORRES = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+
+    /*============================================================
+     *  A. CONTAGEM SEQUENCIAL
+     *==========================================================*/
+
+    @Test public void posicaoInicial_profundidades1a4() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        Perft perft = new Perft(tabuleiro, 4);
+        for (int p = 1; p <= 4; p++)
+            assertEquals("perft(" + p + ")", ESPERADO[p], perft.contar(p));
+    }
+
+    @Test public void posicaoInicial_profundidade5_comEnPassant() {
+        assertEquals(4865609L, Perft.contarParalelo(new Tabuleiro(), 5, ForkJoinPool.commonPool()));
+    }
+
+    @Test public void kiwipete_profundidades1a3() {
+        Perft perft = new Perft(new Tabuleiro(KIWIPETE), 3);
+        long[] esperado = { 1, 48, 2039, 97862 };
+        for (int p = 1; p <= 3; p++)
+            assertEquals("perft(" + p + ")", esperado[p], perft.contar(p));
+    }
+
+    /* na profundidade 4 já aparecem subpromoções das pretas */
+    @Test public void kiwipete_profundidade4_comSubpromocoes() {
+        assertEquals(4085603L, Perft.contarParalelo(new Tabuleiro(KIWIPETE), 4, ForkJoinPool.commonPool()));
+    }
+
+    @Test public void finalDeTorres_profundidades1a4() {
+        Perft perft = new Perft(new Tabuleiro(FINAL_TORRES), 4);
+        long[] esperado = { 1, 14, 191, 2812, 43238 };
+        for (int p = 1; p <= 4; p++)
+            assertEquals("perft(" + p + ")", esperado[p], perft.contar(p));
+    }
+
+    @Test public void contar_naoAlteraTabuleiro() {
+        Tabuleiro tabuleiro = new Tabuleiro();
+        long chave = tabuleiro.getChave();
+        new Perft(tabuleiro, 3).contar(3);
+        assertEquals(chave, tabuleiro.getChave());
+        assertEquals(Cor.BRANCO, tabuleiro.getVez());
+    }
+
+    /*============================================================
+     *  B. DIVIDIR E PARALELO
+     *==========================================================*/
+
+    @Test public void dividir_somaIgualAoTotal() {
+        int[] raiz = new int[Movimento.MAX_LANCES];
+        long[] nos = new long[Movimento.MAX_LANCES];
+        int n = new Perft(new Tabuleiro(), 3).dividir(3, raiz, nos);
+
+        assertEquals(20, n);
+        long soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += nos[i];
+            if (Movimento.paraTexto(raiz[i]).equals("e2e4")) assertEquals(600, nos[i]);
+        }
+        assertEquals(ESPERADO[3], soma);
+    }
+
+    @Test public void paralelo_igualAoSequencial() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int p = 1; p <= 4; p++)
+                assertEquals(ESPERADO[p], Perft.contarParalelo(new Tabuleiro(), p, pool));
+            assertEquals(ESPERADO[4], Perft.contarParalelo(new Tabuleiro(), 4, ForkJoinPool.commonPool()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -148,7 +148,7 @@ public class RainhaTest {
         tabuleiro.moverPeca(alvo, 5, 3);
 
         assertTrue(rainhaBranca.podeMoverPara(tabuleiro, 5, 3));
-        tabuleiro.moverPeca(rainhaBranca, 5, 3);
+        rainhaBranca = tabuleiro.moverPeca(rainhaBranca, 5, 3);
 
         assertEquals(rainhaBranca, tabuleiro.getPeca(5, 3));
         assertNull(tabuleiro.getPeca(3, 3));
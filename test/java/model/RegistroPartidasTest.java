@@ -0,0 +1,183 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes do registro de partidas simultâneas.
+ *
+ * · Cada partida é independente das demais e do Singleton.
+ * · Hibernação preserva a posição e o lado a jogar.
+ */
+public class RegistroPartidasTest {
+
+    private RegistroPartidas registro;
+
+    @Before
+    public void setUp() {
+        registro = new RegistroPartidas(1000);
+    }
+
+    /*============================================================
+     *  A. CRIAÇÃO, CONSULTA E REMOÇÃO
+     *==========================================================*/
+
+    @Test public void partidasSaoIndependentes() {
+        long a = registro.criar();
+        long b = registro.criar();
+        assertNotEquals(a, b);
+
+        assertTrue(registro.executar(a, j -> j.selecionaPeca(6, 4) && j.selecionaCasa(4, 4)));   // e2-e4 só na partida A
+
+        assertFalse(registro.executar(a, j -> j.selecionaPeca(6, 3)));      // A: vez do preto
+        assertTrue(registro.executar(b, j -> j.selecionaPeca(6, 3)));       // B: ainda é a vez do branco
+    }
+
+    @Test public void executar_idInexistente() {
+        assertNull(registro.executar(12345, j -> true));
+    }
+
+    @Test public void remover() {
+        long id = registro.criar();
+        assertTrue(registro.remover(id));
+        assertNull(registro.executar(id, j -> true));
+        assertFalse(registro.remover(id));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void limiteDePartidas() {
+        RegistroPartidas pequeno = new RegistroPartidas(2);
+        pequeno.criar();
+        pequeno.criar();
+        pequeno.criar();
+    }
+
+    /*============================================================
+     *  B. HIBERNAÇÃO E EXPIRAÇÃO
+     *==========================================================*/
+
+    @Test public void hibernar_preservaPosicao() {
+        long id = registro.criar();
+        assertTrue(registro.executar(id, j -> j.selecionaPeca(7, 6) && j.selecionaCasa(5, 5)));   // Cg1-f3
+        long[] antes = registro.executar(id, JogoXadrez::retrato);
+
+        assertEquals(1, registro.hibernarOciosas(0));
+        assertArrayEquals(antes, registro.executar(id, JogoXadrez::retrato));
+        assertTrue(registro.executar(id, j -> j.selecionaPeca(0, 6)));      // vez do preto
+        assertTrue(registro.executar(id, j -> j.selecionaCasa(2, 5)));      // Cg8-f6
+    }
+
+    /* Cg1-f3 Cg8-f6 Cf3-g1 Cf6-g8, de (linha, coluna) origem a destino */
+    private static final int[][] VAIVEM = { { 7, 6, 5, 5 }, { 0, 6, 2, 5 }, { 5, 5, 7, 6 }, { 2, 5, 0, 6 } };
+
+    private void jogar(long id, int[] lance) {
+        assertTrue(registro.executar(id, j -> j.selecionaPeca(lance[0], lance[1]) && j.selecionaCasa(lance[2], lance[3])));
+    }
+
+    @Test public void hibernar_noMeioDaRepeticao_aindaEmpata() {
+        long id = registro.criar();
+        for (int i = 0; i < 6; i++) jogar(id, VAIVEM[i % 4]);
+        assertEquals(1, registro.hibernarOciosas(0));
+        jogar(id, VAIVEM[2]);
+        assertEquals(EstadoPartida.EM_ANDAMENTO, registro.executar(id, JogoXadrez::getEstado));
+        jogar(id, VAIVEM[3]);                              // posição inicial pela terceira vez
+        assertEquals(EstadoPartida.EMPATE_REPETICAO, registro.executar(id, JogoXadrez::getEstado));
+    }
+
+    @Test public void hibernar_preservaNumeroDoLance() {
+        long id = registro.criar();
+        for (int i = 0; i < 7; i++) jogar(id, VAIVEM[i % 4]);
+        String antes = registro.executar(id, JogoXadrez::getFen);
+        assertTrue(antes, antes.endsWith(" b KQkq - 7 4"));
+        assertEquals(1, registro.hibernarOciosas(0));
+        assertEquals(antes, registro.executar(id, JogoXadrez::getFen));
+    }
+
+    @Test public void hibernar_pulaPartidaEmUso() throws Exception {
+        long id = registro.criar();
+        ExecutorService outra = Executors.newSingleThreadExecutor();
+        try {
+            int[] hibernadas = registro.executar(id, j -> {
+                j.selecionaPeca(6, 4);
+                try {
+                    int daOutraThread = outra.submit(() -> registro.hibernarOciosas(0)).get();
+                    return new int[] { daOutraThread, registro.hibernarOciosas(0) };
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            });
+            assertArrayEquals(new int[] { 0, 0 }, hibernadas);
+        } finally {
+            outra.shutdown();
+        }
+        /* o lance continua na partida depois que ela é liberada e hibernada */
+        assertTrue(registro.executar(id, j -> j.selecionaCasa(4, 4)));      // e2-e4
+        assertEquals(1, registro.hibernarOciosas(0));
+        assertTrue(registro.executar(id, j -> j.getFen().contains(" b ")));
+    }
+
+    @Test public void hibernar_ignoraPartidasRecentes() {
+        registro.criar();
+        assertEquals(0, registro.hibernarOciosas(60_000));
+    }
+
+    @Test public void expirar_pulaPartidaEmUso() throws Exception {
+        long id = registro.criar();
+        CountDownLatch dentro = new CountDownLatch(1), liberar = new CountDownLatch(1);
+        ExecutorService outra = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> operacao = outra.submit(() -> registro.executar(id, j -> {
+                dentro.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    throw new AssertionError(e);
+                }
+                return j.selecionaPeca(6, 4) && j.selecionaCasa(4, 4);
+            }));
+            dentro.await();
+            assertEquals(0, registro.expirarOciosas(0));
+            liberar.countDown();
+            assertTrue(operacao.get());
+        } finally {
+            outra.shutdown();
+        }
+        assertTrue(registro.executar(id, j -> j.getFen().contains(" b ")));
+        assertEquals(1, registro.expirarOciosas(0));
+        assertNull(registro.executar(id, j -> true));
+    }
+
+    @Test public void expirar_removeOciosas() {
+        registro.criar();
+        registro.criar();
+        assertEquals(0, registro.expirarOciosas(60_000));
+        assertEquals(2, registro.expirarOciosas(0));
+        assertEquals(0, registro.tamanho());
+    }
+
+    /*============================================================
+     *  C. CONCORRÊNCIA
+     *==========================================================*/
+
+    @Test public void criarEExecutarEmParalelo() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Long>> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) ids.add(pool.submit(() -> {
+            long id = registro.criar();
+            assertTrue(registro.executar(id, j -> j.selecionaPeca(6, 0) && j.selecionaCasa(5, 0)));
+            return id;
+        }));
+        for (Future<Long> f : ids) assertNotNull(registro.executar(f.get(), j -> true));
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(200, registro.tamanho());
+    }
+}
@@ -114,7 +114,7 @@ public class ReiTest {
     
     
     @Test public void movimentoValidoNoCanto() {
-        tabuleiro.moverPeca(reiBranco, 0, 0); // A1
+        reiBranco = tabuleiro.moverPeca(reiBranco, 0, 0); // A1
         assertTrue(reiBranco.podeMoverPara(tabuleiro, 0, 1)); // B1
         assertTrue(reiBranco.podeMoverPara(tabuleiro, 1, 0)); // A2
     }
@@ -123,7 +123,7 @@ public class ReiTest {
 	@Test 
 	public void movimentoValidoNoCantoInferiorEsquerdo() {
 	    // Posiciona rei branco em A1 (0,0)
-	    tabuleiro.moverPeca(reiBranco, 0, 0);
+	    reiBranco = tabuleiro.moverPeca(reiBranco, 0, 0);
 	    
 	    // Movimentos válidos
 	    assertTrue(reiBranco.podeMoverPara(tabuleiro, 0, 1));  // B1 (direita)
@@ -137,7 +137,7 @@ public class ReiTest {
 	@Test 
 	public void movimentoValidoNoCantoSuperiorDireito() {
 	    // Posiciona rei preto em H8 (7,7)
-	    tabuleiro.moverPeca(reiPreto, 7, 7);
+	    reiPreto = tabuleiro.moverPeca(reiPreto, 7, 7);
 	    
 	    // Movimentos válidos
 	    assertTrue(reiPreto.podeMoverPara(tabuleiro, 7, 6));  // G8 (esquerda)
@@ -158,7 +158,7 @@ public class ReiTest {
         tabuleiro.moverPeca(alvo, 4, 4);
 
         assertTrue(reiBranco.podeMoverPara(tabuleiro, 4, 4));
-        tabuleiro.moverPeca(reiBranco, 4, 4);
+        reiBranco = tabuleiro.moverPeca(reiBranco, 4, 4);
 
         assertEquals(reiBranco, tabuleiro.getPeca(4, 4));
         assertNull(tabuleiro.getPeca(3, 3));
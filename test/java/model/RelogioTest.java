@@ -0,0 +1,103 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Testes do relógio da busca: cálculo dos prazos, prazo duro e
+ * heurísticas de estabilidade.
+ */
+public class RelogioTest {
+
+    /*============================================================
+     *  A. PRAZOS
+     *==========================================================*/
+
+    @Test public void controle_prazosDentroDoTempoRestante() {
+        Relogio r = Relogio.controle(60_000, 0, 0);
+        assertEquals((60_000 - Relogio.MARGEM_MS) / Relogio.LANCES_PADRAO, r.getSuaveMs());
+        assertTrue(r.getDuroMs() > r.getSuaveMs());
+        assertTrue(r.getDuroMs() < 60_000 - Relogio.MARGEM_MS);
+    }
+
+    @Test public void controle_incrementoEMovestogoAumentamOPrazo() {
+        long base = Relogio.controle(60_000, 0, 0).getSuaveMs();
+        assertTrue(Relogio.controle(60_000, 1_000, 0).getSuaveMs() > base);
+        assertTrue(Relogio.controle(60_000, 0, 5).getSuaveMs() > base);
+    }
+
+    @Test public void controle_poucoTempo_nuncaPassaDoRestante() {
+        for (long restante : new long[] { 1, 10, 40, 100 }) {
+            Relogio r = Relogio.controle(restante, 5_000, 1);
+            assertTrue(r.getSuaveMs() >= 1);
+            assertTrue(r.getDuroMs() >= r.getSuaveMs());
+            assertTrue(r.getDuroMs() <= Math.max(1, restante - Relogio.MARGEM_MS));
+        }
+    }
+
+    @Test public void duro_marcaEsgotado() throws InterruptedException {
+        Relogio r = Relogio.fixo(20);
+        r.iniciar();
+        assertFalse(r.esgotado());
+        long fim = System.currentTimeMillis() + 2_000;
+        while (!r.esgotado() && System.currentTimeMillis() < fim) Thread.sleep(1);
+        assertTrue(r.esgotado());
+        assertFalse(r.continuar(Movimento.criar(0, 1), 0));
+        r.encerrar();
+    }
+
+    @Test public void semLimite_nuncaEsgota() throws InterruptedException {
+        Relogio r = Relogio.semLimite();
+        r.iniciar();
+        Thread.sleep(20);
+        assertFalse(r.esgotado());
+        assertTrue(r.continuar(Movimento.criar(0, 1), 0));
+        r.encerrar();
+    }
+
+    /*============================================================
+     *  B. ESTABILIDADE
+     *==========================================================*/
+
+    @Test public void estabilidade_lanceRepetidoEncurtaTrocadoEstende() {
+        int a = Movimento.criar(52, 36), b = Movimento.criar(51, 35);
+        Relogio r = Relogio.controle(600_000, 0, 0);
+        r.iniciar();
+        long suave = r.getSuaveMs();
+
+        r.continuar(a, 10);
+        assertEquals(suave, r.getLimiteMs());
+        for (int i = 0; i < 3; i++) r.continuar(a, 10);
+        assertTrue(r.getLimiteMs() < suave);
+
+        r.continuar(b, 10);
+        assertTrue(r.getLimiteMs() > suave);
+        r.encerrar();
+    }
+
+    @Test public void estabilidade_quedaDeValorEstende() {
+        int a = Movimento.criar(52, 36);
+        Relogio r = Relogio.controle(600_000, 0, 0);
+        r.iniciar();
+        r.continuar(a, 50);
+        r.continuar(a, 50);
+        long estavel = r.getLimiteMs();
+        r.continuar(a, -50);
+        assertTrue(r.getLimiteMs() > estavel);
+        r.encerrar();
+    }
+
+    /*============================================================
+     *  C. BUSCA
+     *==========================================================*/
+
+    @Test public void busca_respeitaPrazoDuro() {
+        Relogio r = Relogio.controle(2_000, 0, 1);
+        Busca busca = new Busca(new Tabuleiro());
+        long inicio = System.currentTimeMillis();
+        assertNotEquals(Movimento.NENHUM, busca.melhorLance(r, Busca.MAX_PLY - 1));
+        long ms = System.currentTimeMillis() - inicio;
+        assertTrue("demorou " + ms + " ms", ms <= r.getDuroMs() + 100);
+        assertTrue(busca.getProfundidadeAlcancada() >= 1);
+    }
+}
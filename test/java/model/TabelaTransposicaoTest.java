@@ -0,0 +1,113 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Testes da tabela de transposição.
+ *
+ * · Empacotamento dos campos, verificação por XOR, tamanho em megabytes
+ *   e política de substituição (preferência por profundidade / sempre substitui).
+ */
+public class TabelaTransposicaoTest {
+
+    /*============================================================
+     *  A. EMPACOTAMENTO
+     *==========================================================*/
+
+    @Test public void empacotar_preservaCampos() {
+        int lance = Movimento.criar(12, 28, Peca.RAINHA);
+        for (int valor : new int[] { 0, 1, -1, 350, -350, Busca.MATE - 3, -Busca.MATE + 3 }) {
+            long dado = TabelaTransposicao.empacotar(17, TabelaTransposicao.INFERIOR, valor, lance);
+            assertEquals(lance, TabelaTransposicao.lance(dado));
+            assertEquals(valor, TabelaTransposicao.valor(dado));
+            assertEquals(17, TabelaTransposicao.profundidade(dado));
+            assertEquals(TabelaTransposicao.INFERIOR, TabelaTransposicao.limite(dado));
+        }
+    }
+
+    /*============================================================
+     *  B. SONDAGEM
+     *==========================================================*/
+
+    @Test public void sondar_encontraOQueFoiGuardado() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long chave = new Tabuleiro().getChave();
+        tabela.guardar(chave, 5, TabelaTransposicao.EXATO, 42, Movimento.criar(52, 36));
+
+        long dado = tabela.sondar(chave);
+        assertNotEquals(0L, dado);
+        assertEquals(42, TabelaTransposicao.valor(dado));
+        assertEquals(5, TabelaTransposicao.profundidade(dado));
+    }
+
+    @Test public void sondar_rejeitaOutraChaveNoMesmoIndice() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long chave = 0x123456789ABCDEF0L;
+        tabela.guardar(chave, 3, TabelaTransposicao.EXATO, 10, 0);
+        assertEquals(0L, tabela.sondar(chave ^ (1L << 40)));   // mesmo índice, chave diferente
+    }
+
+    /*============================================================
+     *  C. TAMANHO E SUBSTITUIÇÃO
+     *==========================================================*/
+
+    @Test public void tamanho_arredondadoParaPotenciaDeDois() {
+        assertEquals(1, new TabelaTransposicao(1).getMegabytes());
+        assertEquals(4, new TabelaTransposicao(6).getMegabytes());
+        assertEquals(1, new TabelaTransposicao(0).getMegabytes());
+    }
+
+    @Test public void entradaProfundaSobreviveAEntradaRasa() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long profunda = 0x1000L, rasa = 0x2000000000001000L, outra = 0x4000000000001000L;  // mesmo compartimento
+
+        tabela.guardar(profunda, 12, TabelaTransposicao.EXATO, 1, 0);
+        tabela.guardar(rasa, 2, TabelaTransposicao.EXATO, 2, 0);
+        tabela.guardar(outra, 1, TabelaTransposicao.EXATO, 3, 0);   // substitui a rasa
+
+        assertEquals(12, TabelaTransposicao.profundidade(tabela.sondar(profunda)));
+        assertEquals(0L, tabela.sondar(rasa));
+        assertEquals(3, TabelaTransposicao.valor(tabela.sondar(outra)));
+    }
+
+    @Test public void novaBusca_liberaEntradaProfundaAntiga() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long antiga = 0x1000L, nova1 = 0x2000000000001000L, nova2 = 0x4000000000001000L;
+
+        tabela.guardar(antiga, 12, TabelaTransposicao.EXATO, 1, 0);
+        tabela.novaBusca();
+        tabela.guardar(nova1, 2, TabelaTransposicao.EXATO, 2, 0);    // ocupa a primeira entrada
+        tabela.guardar(nova2, 1, TabelaTransposicao.EXATO, 3, 0);
+
+        assertEquals(0L, tabela.sondar(antiga));
+        assertEquals(2, TabelaTransposicao.valor(tabela.sondar(nova1)));
+        assertEquals(3, TabelaTransposicao.valor(tabela.sondar(nova2)));
+    }
+
+    @Test public void escritasConcorrentes_nuncaDevolvemEntradaMisturada() throws Exception {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        long chave = 0x77L;
+        Thread[] escritores = new Thread[4];
+        for (int t = 0; t < escritores.length; t++) {
+            int valor = 100 * (t + 1);
+            escritores[t] = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++)
+                    tabela.guardar(chave, valor / 100, TabelaTransposicao.EXATO, valor, 0);
+            });
+            escritores[t].start();
+        }
+        for (int i = 0; i < 200_000; i++) {
+            long dado = tabela.sondar(chave);
+            if (dado != 0) assertEquals(100 * TabelaTransposicao.profundidade(dado), TabelaTransposicao.valor(dado));
+        }
+        for (Thread t : escritores) t.join();
+    }
+
+    @Test public void limpar_esvaziaTabela() {
+        TabelaTransposicao tabela = new TabelaTransposicao(1);
+        tabela.guardar(99L, 1, TabelaTransposicao.SUPERIOR, -5, 0);
+        tabela.limpar();
+        assertEquals(0L, tabela.sondar(99L));
+    }
+}
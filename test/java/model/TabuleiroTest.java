@@ -0,0 +1,473 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes do tabuleiro em bitboards.
+ *
+ * · Verificam que bitboards, máscaras de ocupação e getPeca
+ *   permanecem coerentes após inicializar, moverPeca e limpar.
+ */
+public class TabuleiroTest {
+
+    private Tabuleiro tabuleiro;
+
+    @Before
+    public void setUp() {
+        tabuleiro = new Tabuleiro();
+    }
+
+    /*============================================================
+     *  A. POSIÇÃO INICIAL
+     *==========================================================*/
+
+    @Test public void posicaoInicial_ocupacao() {
+        assertEquals(0x000000000000FFFFL, tabuleiro.getOcupacao(Cor.PRETO));
+        assertEquals(0xFFFF000000000000L, tabuleiro.getOcupacao(Cor.BRANCO));
+        assertEquals(32, Long.bitCount(tabuleiro.getTodas()));
+    }
+
+    @Test public void posicaoInicial_bitboardsPorTipo() {
+        assertEquals(0x00FF000000000000L, tabuleiro.getBitboard(Peca.PEAO, Cor.BRANCO));
+        assertEquals(0x000000000000FF00L, tabuleiro.getBitboard(Peca.PEAO, Cor.PRETO));
+        assertEquals(Bitboard.bit(Bitboard.casa(7, 4)), tabuleiro.getBitboard(Peca.REI, Cor.BRANCO));
+        assertEquals(Bitboard.bit(Bitboard.casa(0, 3)), tabuleiro.getBitboard(Peca.RAINHA, Cor.PRETO));
+    }
+
+    /*============================================================
+     *  B. MOVIMENTO E CAPTURA
+     *==========================================================*/
+
+    @Test public void moverPeca_atualizaMascaras() {
+        Peca cavalo = tabuleiro.moverPeca(tabuleiro.getPeca(7, 6), 5, 5);
+
+        assertSame(cavalo, tabuleiro.getPeca(5, 5));
+        assertSame(Peca.criar(Peca.CAVALO, Cor.BRANCO, 5, 5), cavalo);
+        assertNull(tabuleiro.getPeca(7, 6));
+        assertFalse(tabuleiro.ocupada(Bitboard.casa(7, 6)));
+        assertTrue(tabuleiro.ocupada(Bitboard.casa(5, 5)));
+        assertTrue((tabuleiro.getBitboard(Peca.CAVALO, Cor.BRANCO) & Bitboard.bit(Bitboard.casa(5, 5))) != 0);
+    }
+
+    @Test public void moverPeca_instanciaVelhaNaoApagaQuemOcupaAOrigem() {
+        Peca velho = tabuleiro.getPeca(7, 6);                      // cavalo em g1
+        tabuleiro.moverPeca(velho, 5, 5);                          // Cg1-f3
+        Peca bispo = tabuleiro.moverPeca(tabuleiro.getPeca(7, 5), 7, 6);   // Bf1-g1
+
+        tabuleiro.moverPeca(velho, 5, 7);                          // instância ainda "em g1"
+        assertSame(bispo, tabuleiro.getPeca(7, 6));
+        assertSame(Peca.criar(Peca.CAVALO, Cor.BRANCO, 5, 5), tabuleiro.getPeca(5, 5));
+        assertSame(Peca.criar(Peca.CAVALO, Cor.BRANCO, 5, 7), tabuleiro.getPeca(5, 7));
+        assertEquals(3, Long.bitCount(tabuleiro.getBitboard(Peca.CAVALO, Cor.BRANCO)));
+        assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+    }
+
+    @Test public void pecas_saoCompartilhadasEntreTabuleiros() {
+        Tabuleiro outro = new Tabuleiro();
+        assertSame(tabuleiro.getPeca(0, 4), outro.getPeca(0, 4));
+        assertSame(tabuleiro.getPeca(6, 0), new Tabuleiro(tabuleiro).getPeca(6, 0));
+
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Peao(Cor.BRANCO, 1, 0), 1, 0);
+        tabuleiro.jogar(Movimento.criar(Bitboard.casa(1, 0), Bitboard.casa(0, 0), Peca.RAINHA));
+        assertSame(Peca.criar(Peca.RAINHA, Cor.BRANCO, 0, 0), tabuleiro.getPeca(0, 0));
+    }
+
+    @Test public void captura_removeBitDaPecaCapturada() {
+        Peca rainha = tabuleiro.getPeca(7, 3);
+        tabuleiro.moverPeca(rainha, 1, 3);           // captura o peão preto da coluna D
+
+        assertEquals(7, Long.bitCount(tabuleiro.getBitboard(Peca.PEAO, Cor.PRETO)));
+        assertEquals(15, Long.bitCount(tabuleiro.getOcupacao(Cor.PRETO)));
+        assertEquals(31, Long.bitCount(tabuleiro.getTodas()));
+    }
+
+    /*============================================================
+     *  C. LIMPEZA
+     *==========================================================*/
+
+    @Test public void limpar_zeraTudo() {
+        tabuleiro.limpar();
+        assertEquals(0L, tabuleiro.getTodas());
+        for (int l = 0; l < 8; l++)
+            for (int c = 0; c < 8; c++)
+                assertNull(tabuleiro.getPeca(l, c));
+    }
+
+    /*============================================================
+     *  D. GERAÇÃO DE LANCES
+     *==========================================================*/
+
+    @Test public void gerarMovimentos_posicaoInicial() {
+        int[] lances = new int[Movimento.MAX_LANCES];
+        assertEquals(20, tabuleiro.gerarMovimentos(Cor.BRANCO, lances));
+        assertEquals(20, tabuleiro.gerarMovimentos(Cor.PRETO, lances));
+    }
+
+    @Test public void gerarMovimentos_coincideComPodeMoverPara() {
+        tabuleiro.moverPeca(tabuleiro.getPeca(6, 4), 4, 4);   // e2-e4
+        tabuleiro.moverPeca(tabuleiro.getPeca(1, 3), 3, 3);   // d7-d5
+        tabuleiro.moverPeca(tabuleiro.getPeca(7, 5), 3, 1);   // Bf1-b5+
+
+        for (Cor cor : Cor.values()) {
+            int[] lances = new int[Movimento.MAX_LANCES];
+            int n = tabuleiro.gerarMovimentos(cor, lances);
+            int esperados = 0;
+            for (int casa = 0; casa < 64; casa++) {
+                Peca p = tabuleiro.getPeca(casa);
+                if (p == null || p.getCor() != cor) continue;
+                for (int l = 0; l < 8; l++)
+                    for (int c = 0; c < 8; c++)
+                        if (p.podeMoverPara(tabuleiro, l, c)) esperados++;
+            }
+            assertEquals(esperados, n);
+            for (int i = 0; i < n; i++) {
+                int destino = Movimento.destino(lances[i]);
+                Peca p = tabuleiro.getPeca(Movimento.origem(lances[i]));
+                assertTrue(p.podeMoverPara(tabuleiro, Bitboard.linha(destino), Bitboard.coluna(destino)));
+            }
+        }
+    }
+
+    @Test public void gerarMovimentos_marcaPromocao() {
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Peao(Cor.BRANCO, 1, 0), 1, 0);       // A7
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 0, 1), 0, 1);       // B8
+
+        int[] lances = new int[Movimento.MAX_LANCES];
+        assertEquals(8, tabuleiro.gerarMovimentos(Cor.BRANCO, lances));
+        int[] porPeca = new int[6];
+        for (int i = 0; i < 8; i++) porPeca[Movimento.promocao(lances[i])]++;
+        assertArrayEquals(new int[] { 0, 2, 2, 2, 2, 0 }, porPeca);     // a8 e xb8, cada um a C, B, T e D
+    }
+
+    @Test public void gerarCapturas_soPromoveARainha() {
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Peao(Cor.BRANCO, 1, 0), 1, 0);       // A7
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 0, 1), 0, 1);       // B8
+
+        int[] lances = new int[Movimento.MAX_LANCES];
+        assertEquals(2, tabuleiro.gerarCapturas(Cor.BRANCO, lances));
+        for (int i = 0; i < 2; i++)
+            assertEquals(Peca.RAINHA, Movimento.promocao(lances[i]));
+    }
+
+    /*============================================================
+     *  E. FAZER / DESFAZER LANCE
+     *==========================================================*/
+
+    private static long[] retrato(Tabuleiro t) {
+        long[] r = new long[15];
+        for (int i = 0; i < 12; i++) r[i] = t.getBitboard(i % 6, Cor.values()[i / 6]);
+        r[12] = t.getOcupacao(Cor.BRANCO);
+        r[13] = t.getOcupacao(Cor.PRETO);
+        r[14] = t.getTodas();
+        return r;
+    }
+
+    @Test public void fazerDesfazer_todosOsLancesIniciais() {
+        long[] antes = retrato(tabuleiro);
+        int[] lances = new int[Movimento.MAX_LANCES];
+        int n = tabuleiro.gerarMovimentos(Cor.BRANCO, lances);
+        for (int i = 0; i < n; i++) {
+            tabuleiro.fazerLance(lances[i]);
+            tabuleiro.desfazerLance();
+            assertArrayEquals(antes, retrato(tabuleiro));
+        }
+    }
+
+    @Test public void desfazerCaptura_devolvePecaCapturada() {
+        Peca rainha = tabuleiro.getPeca(7, 3);
+        Peca peao = tabuleiro.getPeca(1, 3);
+        tabuleiro.moverPeca(tabuleiro.getPeca(6, 3), 4, 3);  // abre a coluna D
+
+        tabuleiro.fazerLance(Movimento.criar(Bitboard.casa(7, 3), Bitboard.casa(1, 3)));
+        assertSame(Peca.em(rainha.getIndice(), Bitboard.casa(1, 3)), tabuleiro.getPeca(1, 3));
+        assertEquals(15, Long.bitCount(tabuleiro.getOcupacao(Cor.PRETO)));
+
+        tabuleiro.desfazerLance();
+        assertSame(rainha, tabuleiro.getPeca(7, 3));
+        assertSame(peao, tabuleiro.getPeca(1, 3));
+        assertEquals(7, rainha.getLinha());
+        assertEquals(16, Long.bitCount(tabuleiro.getOcupacao(Cor.PRETO)));
+    }
+
+    @Test public void desfazerPromocao_devolvePeao() {
+        tabuleiro.limpar();
+        Peao peao = new Peao(Cor.BRANCO, 1, 0);                     // A7
+        peao = tabuleiro.moverPeca(peao, 1, 0);
+
+        tabuleiro.fazerLance(Movimento.criar(Bitboard.casa(1, 0), Bitboard.casa(0, 0), Peca.RAINHA));
+        assertTrue(tabuleiro.getPeca(0, 0) instanceof Rainha);
+        assertEquals(0L, tabuleiro.getBitboard(Peca.PEAO, Cor.BRANCO));
+
+        tabuleiro.desfazerLance();
+        assertSame(peao, tabuleiro.getPeca(1, 0));
+        assertNull(tabuleiro.getPeca(0, 0));
+        assertEquals(0L, tabuleiro.getBitboard(Peca.RAINHA, Cor.BRANCO));
+    }
+
+    /*============================================================
+     *  F. HASH DE ZOBRIST INCREMENTAL
+     *==========================================================*/
+
+    /* referência: hash calculado do zero, casa a casa */
+    private static long chaveDoZero(Tabuleiro t) {
+        long chave = t.getVez() == Cor.PRETO ? Zobrist.VEZ_PRETO : 0L;
+        chave ^= Zobrist.roque(t.getDireitosRoque()) ^ Zobrist.enPassant(t.getColunaEnPassant());
+        for (int casa = 0; casa < 64; casa++) {
+            Peca p = t.getPeca(casa);
+            if (p != null) chave ^= Zobrist.peca(p.getIndice(), casa);
+        }
+        return chave;
+    }
+
+    @Test public void chave_acompanhaLancesAleatorios() {
+        Random r = new Random(3);
+        int[] lances = new int[Movimento.MAX_LANCES];
+        long inicial = tabuleiro.getChave();
+        assertEquals(chaveDoZero(tabuleiro), inicial);
+
+        int feitos = 0;
+        for (; feitos < 200; feitos++) {
+            int n = tabuleiro.gerarMovimentos(tabuleiro.getVez(), lances);
+            if (n == 0 || tabuleiro.getBitboard(Peca.REI, Cor.BRANCO) == 0
+                       || tabuleiro.getBitboard(Peca.REI, Cor.PRETO) == 0) break;
+            tabuleiro.fazerLance(lances[r.nextInt(n)]);
+            assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+        }
+        while (feitos-- > 0) {
+            tabuleiro.desfazerLance();
+            assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+        }
+        assertEquals(inicial, tabuleiro.getChave());
+    }
+
+    @Test public void chave_transposicaoTemMesmoHash() {
+        Tabuleiro outro = new Tabuleiro();
+        int g1f3 = Movimento.criar(Bitboard.casa(7, 6), Bitboard.casa(5, 5));
+        int b1c3 = Movimento.criar(Bitboard.casa(7, 1), Bitboard.casa(5, 2));
+        int g8f6 = Movimento.criar(Bitboard.casa(0, 6), Bitboard.casa(2, 5));
+        int b8c6 = Movimento.criar(Bitboard.casa(0, 1), Bitboard.casa(2, 2));
+
+        tabuleiro.fazerLance(g1f3); tabuleiro.fazerLance(g8f6); tabuleiro.fazerLance(b1c3);
+        outro.fazerLance(b1c3);     outro.fazerLance(g8f6);     outro.fazerLance(g1f3);
+        assertEquals(tabuleiro.getChave(), outro.getChave());
+
+        tabuleiro.fazerLance(b8c6);
+        assertNotEquals(tabuleiro.getChave(), outro.getChave());
+    }
+
+    @Test public void chave_ladoAJogarMudaHash() {
+        long antes = tabuleiro.getChave();
+        tabuleiro.passarVez();
+        assertNotEquals(antes, tabuleiro.getChave());
+        tabuleiro.passarVez();
+        assertEquals(antes, tabuleiro.getChave());
+    }
+
+    /*============================================================
+     *  G. LEGALIDADE POR MÁSCARAS (XEQUEADORES E CRAVADAS)
+     *==========================================================*/
+
+    @Test public void lanceLegal_coincideComFazerLanceEmPartidasAleatorias() {
+        Random r = new Random(11);
+        int[] lances = new int[Movimento.MAX_LANCES];
+        for (int partida = 0; partida < 20; partida++) {
+            Tabuleiro t = new Tabuleiro();
+            for (int ply = 0; ply < 120; ply++) {
+                Cor cor = t.getVez();
+                if (t.getBitboard(Peca.REI, Cor.BRANCO) == 0 || t.getBitboard(Peca.REI, Cor.PRETO) == 0) break;
+                long xeq = t.xequeadores(cor), crav = t.cravadas(cor);
+                int n = t.gerarMovimentos(cor, lances);
+                int legais = 0;
+                for (int i = 0; i < n; i++) {
+                    t.fazerLance(lances[i]);
+                    boolean esperado = !t.emXeque(cor);
+                    t.desfazerLance();
+                    assertEquals(Movimento.paraTexto(lances[i]), esperado, t.lanceLegal(lances[i], xeq, crav));
+                    if (esperado) lances[legais++] = lances[i];
+                }
+                if (legais == 0) break;
+                t.fazerLance(lances[r.nextInt(legais)]);
+            }
+        }
+    }
+
+    @Test public void cravadas_eXequeadores() {
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Rei(Cor.BRANCO, 7, 4), 7, 4);        // e1
+        tabuleiro.moverPeca(new Cavalo(Cor.BRANCO, 6, 4), 6, 4);     // e2, cravado
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 0, 4), 0, 4);       // e8
+        tabuleiro.moverPeca(new Bispo(Cor.PRETO, 4, 1), 4, 1);       // b4, xeque
+        tabuleiro.moverPeca(new Rei(Cor.PRETO, 0, 0), 0, 0);
+
+        assertEquals(Bitboard.bit(Bitboard.casa(6, 4)), tabuleiro.cravadas(Cor.BRANCO));
+        assertEquals(Bitboard.bit(Bitboard.casa(4, 1)), tabuleiro.xequeadores(Cor.BRANCO));
+        assertEquals(0L, tabuleiro.xequeadores(Cor.PRETO));
+    }
+
+    /*============================================================
+     *  H. REPETIÇÃO E REGRA DOS 50 LANCES
+     *==========================================================*/
+
+    private static int lance(String texto) {
+        return Movimento.deTexto(texto);
+    }
+
+    @Test public void repeticoes_contaIdasEVoltasDosCavalos() {
+        String[] ciclo = { "g1f3", "g8f6", "f3g1", "f6g8" };
+        assertEquals(0, tabuleiro.repeticoes());
+        for (String l : ciclo) tabuleiro.fazerLance(lance(l));
+        assertEquals(1, tabuleiro.repeticoes());
+        assertEquals(4, tabuleiro.getMeioLances());
+        for (String l : ciclo) tabuleiro.fazerLance(lance(l));
+        assertEquals(2, tabuleiro.repeticoes());
+
+        tabuleiro.desfazerLance();                        // de volta a Cf3-g1: já visto no 3º ply
+        assertEquals(1, tabuleiro.repeticoes());
+        assertEquals(7, tabuleiro.getMeioLances());
+    }
+
+    @Test public void lanceIrreversivel_zeraRelogio_eCortaABusca() {
+        String[] ciclo = { "g1f3", "g8f6", "f3g1", "f6g8" };
+        for (String l : ciclo) tabuleiro.fazerLance(lance(l));
+        tabuleiro.fazerLance(lance("e2e4"));
+        assertEquals(0, tabuleiro.getMeioLances());
+        tabuleiro.fazerLance(lance("e7e5"));
+        for (String l : new String[] { "g1f3", "g8f6", "f3g1", "f6g8" }) tabuleiro.fazerLance(lance(l));
+        assertEquals(1, tabuleiro.repeticoes());          // só desde e7-e5
+
+        tabuleiro.desfazerLance();
+        tabuleiro.desfazerLance();
+        tabuleiro.desfazerLance();
+        tabuleiro.desfazerLance();
+        tabuleiro.desfazerLance();
+        assertEquals(0, tabuleiro.getMeioLances());
+    }
+
+    @Test public void registrarLance_eLanceNulo() {
+        for (int i = 0; i < 100; i++) tabuleiro.registrarLance(false);
+        assertEquals(100, tabuleiro.getMeioLances());
+        tabuleiro.registrarLance(true);
+        assertEquals(0, tabuleiro.getMeioLances());
+
+        tabuleiro.limpar();
+        tabuleiro.inicializar();
+        tabuleiro.fazerLance(lance("g1f3"));
+        long chave = tabuleiro.getChave();
+        tabuleiro.fazerLanceNulo();
+        assertEquals(Cor.BRANCO, tabuleiro.getVez());
+        assertEquals(0, tabuleiro.getMeioLances());
+        tabuleiro.desfazerLanceNulo();
+        assertEquals(chave, tabuleiro.getChave());
+        assertEquals(1, tabuleiro.getMeioLances());
+    }
+
+    @Test public void historico_cresceComOsMeiosLances() {
+        /* 16 plies de ida e volta dos cavalos, duas vezes: a posição inicial volta 32 plies depois */
+        String[] ciclo = { "g1f3", "g8f6", "f3d4", "f6d5", "d4b5", "d5b4", "b5a3", "b4a6",
+                           "a3b5", "a6b4", "b5d4", "b4d5", "d4f3", "d5f6", "f3g1", "f6g8" };
+        for (int vez = 0; vez < 2; vez++)
+            for (String l : ciclo) tabuleiro.fazerLance(lance(l));
+        assertEquals(32, tabuleiro.getMeioLances());
+        assertEquals(2, tabuleiro.repeticoes());
+        assertEquals(2, new Tabuleiro(tabuleiro).repeticoes());
+        assertEquals(2, new Tabuleiro(tabuleiro.retrato()).repeticoes());
+    }
+
+    @Test public void copia_levaOHistorico() {
+        for (String l : new String[] { "g1f3", "g8f6", "f3g1", "f6g8" }) tabuleiro.fazerLance(lance(l));
+        Tabuleiro copia = new Tabuleiro(tabuleiro);
+        assertEquals(1, copia.repeticoes());
+        assertEquals(4, copia.getMeioLances());
+    }
+
+    /*============================================================
+     *  I. ROQUE E EN PASSANT
+     *==========================================================*/
+
+    /* reis e torres nas casas iniciais, todos os direitos, brancas jogam */
+    private void soReisETorres() {
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Rei(Cor.BRANCO, 7, 4), 7, 4);
+        tabuleiro.moverPeca(new Torre(Cor.BRANCO, 7, 0), 7, 0);
+        tabuleiro.moverPeca(new Torre(Cor.BRANCO, 7, 7), 7, 7);
+        tabuleiro.moverPeca(new Rei(Cor.PRETO, 0, 4), 0, 4);
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 0, 0), 0, 0);
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 0, 7), 0, 7);
+        tabuleiro.setEstado(Tabuleiro.empacotarEstado(Tabuleiro.TODOS_ROQUES, -1, Cor.BRANCO, 0));
+    }
+
+    @Test public void roque_moveATorre_eDesfazRestauraDireitos() {
+        soReisETorres();
+        assertEquals(Bitboard.bit(Bitboard.casa(7, 6)) | Bitboard.bit(Bitboard.casa(7, 2)),
+                     tabuleiro.destinosRoque(Cor.BRANCO));
+        long chave = tabuleiro.getChave();
+
+        tabuleiro.fazerLance(lance("e1g1"));
+        assertEquals(Peca.REI, tabuleiro.getPeca(7, 6).getTipo());
+        assertEquals(Peca.TORRE, tabuleiro.getPeca(7, 5).getTipo());
+        assertNull(tabuleiro.getPeca(7, 7));
+        assertEquals(Tabuleiro.ROQUE_PRETO_CURTO | Tabuleiro.ROQUE_PRETO_LONGO, tabuleiro.getDireitosRoque());
+        assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+
+        tabuleiro.desfazerLance();
+        assertEquals(Peca.TORRE, tabuleiro.getPeca(7, 7).getTipo());
+        assertNull(tabuleiro.getPeca(7, 5));
+        assertEquals(Tabuleiro.TODOS_ROQUES, tabuleiro.getDireitosRoque());
+        assertEquals(chave, tabuleiro.getChave());
+    }
+
+    @Test public void roque_proibidoPorCasaAtacada_ePorTorreQueSaiu() {
+        soReisETorres();
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 2, 5), 2, 5);            // ataca f1
+        assertEquals(Bitboard.bit(Bitboard.casa(7, 2)), tabuleiro.destinosRoque(Cor.BRANCO));
+
+        tabuleiro.fazerLance(lance("a1b1"));
+        tabuleiro.fazerLance(lance("e8d8"));
+        assertEquals(Tabuleiro.ROQUE_BRANCO_CURTO, tabuleiro.getDireitosRoque());
+        assertEquals(0L, tabuleiro.destinosRoque(Cor.BRANCO));
+        assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+    }
+
+    @Test public void enPassant_capturaEDesfaz() {
+        tabuleiro.fazerLance(lance("e2e4"));
+        assertEquals(-1, tabuleiro.getColunaEnPassant());             // nenhum peão preto pode capturar
+        tabuleiro.fazerLance(lance("a7a6"));
+        tabuleiro.fazerLance(lance("e4e5"));
+        tabuleiro.fazerLance(lance("d7d5"));
+        assertEquals(3, tabuleiro.getColunaEnPassant());
+        assertEquals(Bitboard.bit(Bitboard.casa(2, 3)), tabuleiro.getEnPassant());
+        assertEquals(chaveDoZero(tabuleiro), tabuleiro.getChave());
+        long chave = tabuleiro.getChave();
+
+        tabuleiro.fazerLance(lance("e5d6"));
+        assertNull(tabuleiro.getPeca(3, 3));
+        assertEquals(7, Long.bitCount(tabuleiro.getBitboard(Peca.PEAO, Cor.PRETO)));
+        assertEquals(0, tabuleiro.getMeioLances());
+        assertEquals(-1, tabuleiro.getColunaEnPassant());
+
+        tabuleiro.desfazerLance();
+        assertEquals(Peca.PEAO, tabuleiro.getPeca(3, 3).getTipo());
+        assertEquals(chave, tabuleiro.getChave());
+    }
+
+    @Test public void enPassant_ilegalQuandoDescobreORei() {
+        tabuleiro.limpar();
+        tabuleiro.moverPeca(new Rei(Cor.BRANCO, 3, 0), 3, 0);
+        tabuleiro.moverPeca(new Peao(Cor.BRANCO, 3, 4), 3, 4);
+        tabuleiro.moverPeca(new Peao(Cor.PRETO, 1, 3), 1, 3);
+        tabuleiro.moverPeca(new Torre(Cor.PRETO, 3, 7), 3, 7);
+        tabuleiro.moverPeca(new Rei(Cor.PRETO, 0, 7), 0, 7);
+        tabuleiro.passarVez();
+        tabuleiro.fazerLance(lance("d7d5"));
+
+        int captura = lance("e5d6");
+        assertTrue((tabuleiro.getPeca(3, 4).destinos(tabuleiro) & tabuleiro.getEnPassant()) != 0);
+        assertFalse(tabuleiro.lanceLegal(captura, tabuleiro.xequeadores(Cor.BRANCO), tabuleiro.cravadas(Cor.BRANCO)));
+    }
+}
@@ -140,7 +140,7 @@ public class TorreTest {
         tabuleiro.moverPeca(p, 5, 3);
 
         assertTrue(torreBranca.podeMoverPara(tabuleiro, 5, 3));
-        tabuleiro.moverPeca(torreBranca, 5, 3);
+        torreBranca = tabuleiro.moverPeca(torreBranca, 5, 3);
 
         assertEquals(torreBranca, tabuleiro.getPeca(5, 3)); // torre na nova casa
         assertNull(tabuleiro.getPeca(3, 3));                // origem vazia
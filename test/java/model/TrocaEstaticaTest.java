@@ -0,0 +1,84 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes da avaliação estática de trocas (SEE).
+ *
+ * · Posições montadas em tabuleiro limpo, como nos testes das peças.
+ */
+public class TrocaEstaticaTest {
+
+    private Tabuleiro tabuleiro;
+    private final TrocaEstatica troca = new TrocaEstatica();
+
+    @Before
+    public void setUp() {
+        tabuleiro = new Tabuleiro();
+        tabuleiro.limpar();
+        colocar(new Rei(Cor.BRANCO, 7, 7));     // h1
+        colocar(new Rei(Cor.PRETO, 0, 0));      // a8
+    }
+
+    private void colocar(Peca p) {
+        tabuleiro.moverPeca(p, p.getLinha(), p.getColuna());
+    }
+
+    private int see(int lo, int co, int ld, int cd) {
+        return troca.avaliar(tabuleiro, Movimento.criar(Bitboard.casa(lo, co), Bitboard.casa(ld, cd)));
+    }
+
+    @Test public void pecaIndefesa_ganhaValorInteiro() {
+        colocar(new Torre(Cor.BRANCO, 7, 4));   // e1
+        colocar(new Peao(Cor.PRETO, 3, 4));     // e5
+        assertEquals(100, see(7, 4, 3, 4));
+    }
+
+    @Test public void rainhaCapturaPeaoDefendido_perde() {
+        colocar(new Rainha(Cor.BRANCO, 5, 3));  // d3
+        colocar(new Peao(Cor.PRETO, 3, 3));     // d5
+        colocar(new Peao(Cor.PRETO, 2, 4));     // e6 defende d5
+        assertEquals(100 - 900, see(5, 3, 3, 3));
+    }
+
+    @Test public void peaoCapturaCavaloDefendido_ganha() {
+        colocar(new Peao(Cor.BRANCO, 4, 4));    // e4
+        colocar(new Cavalo(Cor.PRETO, 3, 3));   // d5
+        colocar(new Peao(Cor.PRETO, 2, 4));     // e6 defende d5
+        assertEquals(320 - 100, see(4, 4, 3, 3));
+    }
+
+    @Test public void raioX_torreAtrasDaTorreSustentaATroca() {
+        colocar(new Torre(Cor.BRANCO, 7, 3));   // d1
+        colocar(new Torre(Cor.BRANCO, 6, 3));   // d2, na frente
+        colocar(new Peao(Cor.PRETO, 2, 3));     // d6
+        colocar(new Torre(Cor.PRETO, 0, 3));    // d8 defende
+        // Txd6 Txd6 Txd6: ganha peão e torre, perde uma torre
+        assertEquals(100, see(6, 3, 2, 3));
+
+        tabuleiro.moverPeca(tabuleiro.getPeca(7, 3), 7, 2);   // tira a torre de trás
+        assertEquals(100 - 500, see(6, 3, 2, 3));
+    }
+
+    @Test public void enPassant_valeUmPeao() {
+        tabuleiro = new Tabuleiro("k7/8/8/3pP3/8/8/8/7K w - d6 0 1");
+        assertEquals(100, see(3, 4, 2, 3));
+    }
+
+    @Test public void enPassant_peaoCapturadoAbreORaioX() {
+        /* exd6 tira d5 do caminho: Txd6 Txd6 perderia a torre preta, então a troca para no peão */
+        tabuleiro = new Tabuleiro("k2r4/8/8/3pP3/8/8/8/3R3K w - d6 0 1");
+        assertEquals(100, see(3, 4, 2, 3));
+    }
+
+    @Test public void naoAlteraOTabuleiro() {
+        colocar(new Bispo(Cor.BRANCO, 5, 2));   // c3
+        colocar(new Cavalo(Cor.PRETO, 2, 5));   // f6
+        colocar(new Peao(Cor.PRETO, 1, 6));     // g7
+        long antes = tabuleiro.getChave();
+        assertEquals(320 - 330, see(5, 2, 2, 5));
+        assertEquals(antes, tabuleiro.getChave());
+    }
+}
@@ -0,0 +1,146 @@
+package model;
+
+import static org.junit.Assert.*;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testes do adaptador UCI.
+ *
+ * · Os comandos são passados direto a comando(); a saída é capturada.
+ */
+public class UciTest {
+
+    private ByteArrayOutputStream bytes;
+    private Uci uci;
+
+    @Before
+    public void setUp() {
+        bytes = new ByteArrayOutputStream();
+        uci = new Uci(new BufferedReader(new StringReader("")),
+                      new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown() {
+        uci.pararBusca();
+    }
+
+    private String saida() {
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /* espera até a saída conter texto (a busca escreve de outra thread) */
+    private boolean esperarSaida(String texto, long ms) throws InterruptedException {
+        long fim = System.currentTimeMillis() + ms;
+        while (!saida().contains(texto)) {
+            if (System.currentTimeMillis() > fim) return false;
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /*============================================================
+     *  A. HANDSHAKE E OPÇÕES
+     *==========================================================*/
+
+    @Test public void uci_anunciaOpcoes_eResponde() {
+        uci.comando("uci");
+        uci.comando("isready");
+        String s = saida();
+        assertTrue(s.contains("option name Hash"));
+        assertTrue(s.contains("option name Threads"));
+        assertTrue(s.contains("uciok"));
+        assertTrue(s.endsWith("readyok" + System.lineSeparator()));
+    }
+
+    @Test public void comandoMalformado_naoMudaPosicao() {
+        Tabuleiro antes = uci.getTabuleiro();
+        uci.comando("position startpos moves e2e5");
+        uci.comando("setoption name Hash value muito");
+        assertSame(antes, uci.getTabuleiro());
+        assertTrue(saida().contains("info string"));
+        assertTrue(uci.comando("comando desconhecido"));
+        assertFalse(uci.comando("quit"));
+    }
+
+    /*============================================================
+     *  B. POSIÇÃO
+     *==========================================================*/
+
+    @Test public void position_startposComLances() {
+        uci.comando("position startpos moves e2e4 e7e5 g1f3");
+        Tabuleiro t = uci.getTabuleiro();
+        assertTrue(t.getPeca(4, 4) instanceof Peao);
+        assertTrue(t.getPeca(3, 4) instanceof Peao);
+        assertTrue(t.getPeca(5, 5) instanceof Cavalo);
+        assertEquals(Cor.PRETO, t.getVez());
+    }
+
+    @Test public void position_roqueMoveATorre() {
+        uci.comando("position startpos moves e2e4 e7e5 g1f3 b8c6 f1c4 g8f6 e1g1");
+        Tabuleiro t = uci.getTabuleiro();
+        assertTrue(t.getPeca(7, 6) instanceof Rei);
+        assertTrue(t.getPeca(7, 5) instanceof Torre);
+        assertNull(t.getPeca(7, 7));
+    }
+
+    @Test public void position_enPassantRetiraOPeao() {
+        uci.comando("position startpos moves e2e4 a7a6 e4e5 d7d5 e5d6");
+        Tabuleiro t = uci.getTabuleiro();
+        assertTrue(t.getPeca(2, 3) instanceof Peao);
+        assertNull(t.getPeca(3, 3));
+        assertEquals(15, Long.bitCount(t.getOcupacao(Cor.PRETO)));
+    }
+
+    @Test public void position_fenComPromocao() {
+        uci.comando("position fen 8/P6k/8/8/8/8/8/K7 w - - 0 1 moves a7a8n");
+        Tabuleiro t = uci.getTabuleiro();
+        assertTrue(t.getPeca(0, 0) instanceof Cavalo);
+        assertEquals(Cor.BRANCO, t.getPeca(0, 0).getCor());
+        assertEquals(Cor.PRETO, t.getVez());
+        assertEquals(3, Long.bitCount(t.getTodas()));
+    }
+
+    /*============================================================
+     *  C. BUSCA
+     *==========================================================*/
+
+    @Test public void goDepth_respondeBestmove() throws InterruptedException {
+        uci.comando("position fen 7k/6pp/8/8/8/8/8/R5K1 w - - 0 1");
+        uci.comando("go depth 3");
+        assertTrue(esperarSaida("bestmove", 10_000));
+        assertTrue(saida().contains("score mate 1"));
+        assertTrue(saida().contains("bestmove a1a8"));
+    }
+
+    @Test public void goInfinite_soTerminaComStop() throws InterruptedException {
+        uci.comando("position startpos");
+        uci.comando("go infinite");
+        Thread.sleep(100);
+        uci.comando("isready");                         // a leitura continua durante a busca
+        assertTrue(saida().contains("readyok"));
+        assertFalse(saida().contains("bestmove"));
+
+        long inicio = System.nanoTime();
+        uci.comando("stop");
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        assertTrue(saida().contains("bestmove"));
+        assertTrue("stop levou " + ms + " ms", ms < 200);
+    }
+
+    @Test public void goComRelogio_respeitaTempo() throws InterruptedException {
+        uci.comando("setoption name Threads value 2");
+        uci.comando("position startpos moves e2e4");
+        long inicio = System.currentTimeMillis();
+        uci.comando("go wtime 100 btime 3000 winc 0 binc 0");
+        assertTrue(esperarSaida("bestmove", 5_000));
+        assertTrue(System.currentTimeMillis() - inicio < 1_000);
+    }
+}